@@ -0,0 +1,61 @@
+-- Latency benchmark for product name search at 1M products.
+--
+-- Run against a scratch database that the application has already started on once
+-- (so the tables and the search indexes exist), for example:
+--
+--   psql -U postgres -d productdb_bench -f benchmarks/sql/product-search.sql
+--
+-- Each query is the one issued by ProductRepository.searchListRows / searchListRowsByPrefix.
+-- EXPLAIN (ANALYZE, BUFFERS) reports the plan and execution time; compare a run with the
+-- indexes against one after dropping idx_product_name_trgm and idx_product_name_prefix.
+
+\timing on
+
+BEGIN;
+
+-- 1M products spread over the seeded types, each with one or two colours
+INSERT INTO product (name, product_type_id)
+SELECT 'Product ' || md5(g::text) || ' ' || (ARRAY['Chair', 'Laptop', 'Shirt', 'Table', 'Phone'])[1 + g % 5],
+       (SELECT id FROM product_type ORDER BY id LIMIT 1 OFFSET g % 3)
+FROM generate_series(1, 1000000) AS g;
+
+INSERT INTO product_colour (product_id, colour_id)
+SELECT p.id, c.id
+FROM product p
+JOIN colour c ON c.id IN ((SELECT min(id) FROM colour), (SELECT min(id) FROM colour) + p.id % 4);
+
+ANALYZE product;
+ANALYZE product_colour;
+
+-- Selective substring match (trigram index)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.id, p.name, pt.name, c.name
+FROM (SELECT id, name, product_type_id,
+             CASE WHEN lower(name) LIKE 'a1b2%' THEN 0 ELSE 1 END AS prefix_rank,
+             strpos(lower(name), 'a1b2') AS match_position
+      FROM product
+      WHERE lower(name) LIKE '%a1b2%'
+      ORDER BY prefix_rank, match_position, length(name), id DESC
+      LIMIT 20) p
+LEFT JOIN product_type pt ON pt.id = p.product_type_id
+LEFT JOIN product_colour pc ON pc.product_id = p.id
+LEFT JOIN colour c ON c.id = pc.colour_id
+ORDER BY p.prefix_rank, p.match_position, length(p.name), p.id DESC, c.id;
+
+-- Broad substring match, 200k candidates (trigram index, then top-N sort)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name
+FROM product
+WHERE lower(name) LIKE '%laptop%'
+ORDER BY CASE WHEN lower(name) LIKE 'laptop%' THEN 0 ELSE 1 END, strpos(lower(name), 'laptop'), length(name), id DESC
+LIMIT 20;
+
+-- Short needle, prefix only (text_pattern_ops index scan in order)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name
+FROM product
+WHERE lower(name) LIKE 'pr%'
+ORDER BY lower(name), id DESC
+LIMIT 20;
+
+ROLLBACK;
@@ -0,0 +1,97 @@
+package com.example.productapp.benchmarks;
+
+import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Synthetic catalog data shared by the benchmarks. Every product has a type and two colours,
+ * drawn from small reference tables, and names of realistic length.
+ */
+public final class CatalogFixtures {
+
+    public static final int PRODUCT_TYPE_COUNT = 20;
+    public static final int COLOUR_COUNT = 50;
+    public static final int COLOURS_PER_PRODUCT = 2;
+
+    private CatalogFixtures() {
+    }
+
+    public static List<ProductType> productTypes() {
+        List<ProductType> productTypes = new ArrayList<>();
+        for (long id = 1; id <= PRODUCT_TYPE_COUNT; id++) {
+            productTypes.add(new ProductType(id, "Product Type " + id));
+        }
+        return productTypes;
+    }
+
+    public static List<Colour> colours() {
+        List<Colour> colours = new ArrayList<>();
+        for (long id = 1; id <= COLOUR_COUNT; id++) {
+            colours.add(new Colour(id, "Colour " + id));
+        }
+        return colours;
+    }
+
+    public static String productName(long id) {
+        return "Benchmark Product " + id;
+    }
+
+    /**
+     * Builds product entities with IDs from {@code count} down to 1, the order the listing endpoints return.
+     */
+    public static List<Product> products(int count, List<ProductType> productTypes, List<Colour> colours) {
+        List<Product> products = new ArrayList<>(count);
+        for (long id = count; id >= 1; id--) {
+            products.add(new Product(id, productName(id), productType(id, productTypes), new LinkedHashSet<>(productColours(id, colours))));
+        }
+        return products;
+    }
+
+    /**
+     * Builds the listing rows (id, name, product type, colour) the native join query returns for {@link #products}.
+     */
+    public static List<Object[]> listRows(int count) {
+        List<ProductType> productTypes = productTypes();
+        List<Colour> colours = colours();
+        List<Object[]> rows = new ArrayList<>(count * COLOURS_PER_PRODUCT);
+        for (long id = count; id >= 1; id--) {
+            String typeName = productType(id, productTypes).getName();
+            for (Colour colour : productColours(id, colours)) {
+                rows.add(new Object[]{id, productName(id), typeName, colour.getName()});
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Builds the listing DTOs for {@link #products}.
+     */
+    public static List<ProductListDTO> listDTOs(int count) {
+        List<ProductType> productTypes = productTypes();
+        List<Colour> colours = colours();
+        List<ProductListDTO> products = new ArrayList<>(count);
+        for (long id = count; id >= 1; id--) {
+            List<String> colourNames = productColours(id, colours).stream().map(Colour::getName).toList();
+            products.add(new ProductListDTO(id, productName(id), productType(id, productTypes).getName(), new ArrayList<>(colourNames)));
+        }
+        return products;
+    }
+
+    private static ProductType productType(long productId, List<ProductType> productTypes) {
+        return productTypes.get((int) (productId % productTypes.size()));
+    }
+
+    private static List<Colour> productColours(long productId, List<Colour> colours) {
+        List<Colour> productColours = new ArrayList<>(COLOURS_PER_PRODUCT);
+        for (int i = 0; i < COLOURS_PER_PRODUCT; i++) {
+            productColours.add(colours.get((int) ((productId + i) % colours.size())));
+        }
+        return productColours;
+    }
+}
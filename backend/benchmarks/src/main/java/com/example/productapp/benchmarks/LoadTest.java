@@ -0,0 +1,142 @@
+package com.example.productapp.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load driver for comparing the platform-thread and virtual-thread request modes.
+ * A fixed number of clients send requests back to back against a running backend; after a warm-up,
+ * every latency is recorded and the throughput, latency percentiles and status counts are written as JSON.
+ * <p>
+ * Settings are read from system properties: {@code load.url}, {@code load.concurrency},
+ * {@code load.warmup} and {@code load.duration} (ISO-8601 or seconds), {@code load.label} and {@code load.result}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(System.getProperty("load.url", "http://localhost:8080/api/products?limit=50"));
+        int concurrency = Integer.getInteger("load.concurrency", 200);
+        Duration warmup = duration(System.getProperty("load.warmup", "10"));
+        Duration measurement = duration(System.getProperty("load.duration", "30"));
+        String label = System.getProperty("load.label", "unlabelled");
+        File result = new File(System.getProperty("load.result", "target/load-result.json"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + measurement.toNanos();
+        System.out.printf("Sending GET %s from %d clients for %d s after %d s of warm-up...%n",
+                uri, concurrency, measurement.toSeconds(), warmup.toSeconds());
+
+        List<Future<Client>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> new Client().run(client, request, measureFrom, measureUntil)));
+            }
+        }
+
+        List<Client> finished = new ArrayList<>();
+        for (Future<Client> future : clients) {
+            finished.add(future.get());
+        }
+        long[] latencies = new long[finished.stream().mapToInt(done -> done.count).sum()];
+        Map<String, Long> statuses = new TreeMap<>();
+        int filled = 0;
+        for (Client done : finished) {
+            System.arraycopy(done.latencies, 0, latencies, filled, done.count);
+            filled += done.count;
+            done.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        }
+        Arrays.sort(latencies);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("label", label);
+        summary.put("url", uri.toString());
+        summary.put("concurrency", concurrency);
+        summary.put("durationSeconds", measurement.toSeconds());
+        summary.put("requests", latencies.length);
+        summary.put("throughputPerSecond", latencies.length / (double) measurement.toSeconds());
+        summary.put("latencyMillis", Map.of(
+                "p50", percentile(latencies, 0.50),
+                "p90", percentile(latencies, 0.90),
+                "p99", percentile(latencies, 0.99),
+                "max", latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1_000_000.0));
+        summary.put("statuses", statuses);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        result.getParentFile().mkdirs();
+        objectMapper.writeValue(result, summary);
+        System.out.println(objectMapper.writeValueAsString(summary));
+    }
+
+    private static Duration duration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * One client sending requests back to back. Only requests started inside the measurement window are recorded.
+     */
+    private static final class Client {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Long> statuses = new TreeMap<>();
+
+        Client run(HttpClient client, HttpRequest request, long measureFrom, long measureUntil) throws InterruptedException {
+            long started;
+            while ((started = System.nanoTime()) < measureUntil) {
+                String status;
+                try {
+                    status = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                } catch (IOException e) {
+                    status = e.getClass().getSimpleName();
+                }
+                long latency = System.nanoTime() - started;
+                if (started >= measureFrom) {
+                    record(latency);
+                    statuses.merge(status, 1L, Long::sum);
+                }
+            }
+            return this;
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.productapp.benchmarks;
+
+import com.example.productapp.Application;
+import com.example.productapp.dto.ProductDTO;
+import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.dto.ProductPageDTO;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductRepository;
+import com.example.productapp.repository.ProductTypeRepository;
+import com.example.productapp.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service calls measured through the full Spring context (transactions, JPA, native queries and the
+ * reference data cache) against an in-memory H2 database in PostgreSQL mode.
+ * H2 is much faster than a networked PostgreSQL, so these numbers show the application's own overhead
+ * rather than production latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceEndToEndBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"1000", "10000"})
+    private int productCount;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private String secondPageCursor;
+    private Long middleProductId;
+    private ProductDTO update;
+    private ProductDTO otherUpdate;
+    private long updates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Passed as command-line arguments so they take precedence over the application's own properties
+        context = new SpringApplication(Application.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--app.outbox.enabled=false",
+                "--server.port=0");
+        productService = context.getBean(ProductService.class);
+
+        seed();
+
+        secondPageCursor = productService.getProductsPage(null, ProductService.DEFAULT_PAGE_SIZE).getNextCursor();
+        middleProductId = productService.getAllProducts().get(productCount / 2).getId();
+        update = new ProductDTO("Benchmark Product renamed", 2L, List.of(3L, 4L));
+        otherUpdate = new ProductDTO("Benchmark Product renamed again", 2L, List.of(4L, 5L));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed() {
+        List<ProductType> productTypes = context.getBean(ProductTypeRepository.class).saveAll(CatalogFixtures.productTypes().stream()
+                .map(type -> new ProductType(null, type.getName())).toList());
+        List<Colour> colours = context.getBean(ColourRepository.class).saveAll(CatalogFixtures.colours().stream()
+                .map(colour -> new Colour(null, colour.getName())).toList());
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        List<Product> products = CatalogFixtures.products(productCount, productTypes, colours);
+        for (int from = 0; from < products.size(); from += SEED_BATCH_SIZE) {
+            List<Product> batch = products.subList(from, Math.min(from + SEED_BATCH_SIZE, products.size()));
+            batch.forEach(product -> product.setId(null));
+            transactionTemplate.executeWithoutResult(status -> productRepository.saveAll(batch));
+        }
+    }
+
+    @Benchmark
+    public List<ProductListDTO> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public ProductPageDTO getFirstProductsPage() {
+        return productService.getProductsPage(null, ProductService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public ProductPageDTO getSecondProductsPage() {
+        return productService.getProductsPage(secondPageCursor, ProductService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return productService.getProductById(middleProductId);
+    }
+
+    /**
+     * Alternates between two requests that differ in name and colours, so that every call writes
+     * instead of being skipped as a no-op after the first.
+     */
+    @Benchmark
+    public Product updateProduct() {
+        return productService.updateProduct(middleProductId, updates++ % 2 == 0 ? update : otherUpdate);
+    }
+}
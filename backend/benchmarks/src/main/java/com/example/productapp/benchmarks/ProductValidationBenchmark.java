@@ -0,0 +1,97 @@
+package com.example.productapp.benchmarks;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.ProductDTO;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductRepository;
+import com.example.productapp.repository.ProductTypeRepository;
+import com.example.productapp.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of the validation and entity building in {@link ProductService#createProduct} and
+ * {@link ProductService#updateProduct}, with the repositories replaced by in-memory stubs so
+ * that no database time is included. Reference data is served by the real {@link ReferenceDataCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductValidationBenchmark {
+
+    private ProductService productService;
+    private ProductDTO validProduct;
+    private ProductDTO productWithUnknownColour;
+    private ProductDTO otherValidProduct;
+    private long updates;
+
+    @Setup
+    public void setUp() {
+        List<ProductType> productTypes = CatalogFixtures.productTypes();
+        List<Colour> colours = CatalogFixtures.colours();
+        Product existing = CatalogFixtures.products(1, productTypes, colours).get(0);
+        AtomicLong nextId = new AtomicLong(1);
+
+        ProductRepository productRepository = RepositoryStubs.stub(ProductRepository.class, Map.of(
+                "save", args -> {
+                    Product product = (Product) args[0];
+                    if (product.getId() == null) {
+                        product.setId(nextId.getAndIncrement());
+                    }
+                    return product;
+                },
+                "findById", args -> Optional.of(existing)));
+        ColourRepository colourRepository = RepositoryStubs.stub(ColourRepository.class, Map.of("findAll", args -> colours));
+        ProductTypeRepository productTypeRepository = RepositoryStubs.stub(ProductTypeRepository.class, Map.of("findAll", args -> productTypes));
+
+        ReferenceDataCache referenceDataCache = new ReferenceDataCache(colourRepository, productTypeRepository, 1000);
+        productService = new ProductService(productRepository, null, referenceDataCache, event -> { }, 10_000);
+
+        validProduct = new ProductDTO("  Benchmark Chair  ", 3L, List.of(1L, 7L, 12L));
+        productWithUnknownColour = new ProductDTO("Benchmark Chair", 3L, List.of(1L, 7L, 9999L));
+        otherValidProduct = new ProductDTO("Benchmark Table", 3L, List.of(2L, 7L, 13L));
+    }
+
+    @Benchmark
+    public Product createProduct() {
+        return productService.createProduct(validProduct);
+    }
+
+    @Benchmark
+    public Object createProductRejected() {
+        try {
+            return productService.createProduct(productWithUnknownColour);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Alternates between two requests that differ in name and colours, so that every call changes the
+     * product instead of being skipped as a no-op after the first.
+     */
+    @Benchmark
+    public Product updateProduct() {
+        return productService.updateProduct(1L, updates++ % 2 == 0 ? validProduct : otherValidProduct);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.productapp.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal in-memory stand-ins for Spring Data repositories, so service logic can be measured without a database.
+ * Only the methods listed in the answers are implemented; any other call fails loudly.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    /**
+     * @param repositoryType Repository interface to implement.
+     * @param answers        Method name to the answer computed from the call arguments.
+     * @return A repository whose listed methods return the given answers.
+     */
+    public static <R> R stub(Class<R> repositoryType, Map<String, Function<Object[], Object>> answers) {
+        Object stub = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> repositoryType.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        Function<Object[], Object> answer = answers.get(method.getName());
+                        if (answer == null) {
+                            throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                        }
+                        yield answer.apply(args);
+                    }
+                });
+        return repositoryType.cast(stub);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.productapp.benchmarks;
+
+import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing product lists as JSON with the same ObjectMapper defaults Spring MVC uses.
+ * Covers both the listing DTO returned by GET /api/products and the Product entity returned by the
+ * single-product endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int productCount;
+
+    private ObjectMapper objectMapper;
+    private List<ProductListDTO> listDTOs;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listDTOs = CatalogFixtures.listDTOs(productCount);
+        products = CatalogFixtures.products(productCount, CatalogFixtures.productTypes(), CatalogFixtures.colours());
+    }
+
+    @Benchmark
+    public byte[] serializeProductListDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(listDTOs);
+    }
+
+    @Benchmark
+    public byte[] serializeProducts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+}
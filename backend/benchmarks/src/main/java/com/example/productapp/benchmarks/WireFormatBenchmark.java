@@ -0,0 +1,94 @@
+package com.example.productapp.benchmarks;
+
+import com.example.productapp.dto.ProductListDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size and encoding cost of the GET /api/products body in each format the API negotiates, with and without gzip.
+ * The {@code bytes} and {@code gzipBytes} columns of the results are the response sizes for one list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100000"})
+    private int productCount;
+
+    private ObjectMapper objectMapper;
+    private List<ProductListDTO> listDTOs;
+    private int bytes;
+    private int gzipBytes;
+
+    /**
+     * Response sizes, reported next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+        public long gzipBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        // Built the same way as the ObjectMappers of Spring MVC's message converters
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        listDTOs = CatalogFixtures.listDTOs(productCount);
+        byte[] body = objectMapper.writeValueAsBytes(listDTOs);
+        bytes = body.length;
+        gzipBytes = gzip(body).length;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serialize(WireSize wireSize) throws IOException {
+        wireSize.bytes = bytes;
+        wireSize.gzipBytes = gzipBytes;
+        return objectMapper.writeValueAsBytes(listDTOs);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip(WireSize wireSize) throws IOException {
+        wireSize.bytes = bytes;
+        wireSize.gzipBytes = gzipBytes;
+        return gzip(objectMapper.writeValueAsBytes(listDTOs));
+    }
+}
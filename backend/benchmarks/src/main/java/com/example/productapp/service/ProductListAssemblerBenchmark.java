@@ -0,0 +1,46 @@
+package com.example.productapp.service;
+
+import com.example.productapp.benchmarks.CatalogFixtures;
+import com.example.productapp.dto.ProductListDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the flat listing rows into ProductListDTOs, the conversion behind every product list response.
+ * Lives in the service package because the assembler is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListAssemblerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int productCount;
+
+    private List<Object[]> rows;
+
+    @Setup
+    public void setUp() {
+        rows = CatalogFixtures.listRows(productCount);
+    }
+
+    @Benchmark
+    public List<ProductListDTO> assemble() {
+        return ProductListAssembler.assemble(rows);
+    }
+}
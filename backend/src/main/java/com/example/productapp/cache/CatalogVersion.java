@@ -0,0 +1,31 @@
+package com.example.productapp.cache;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter that moves forward every time a catalog write commits. Read endpoints derive their ETag from it,
+ * so an unchanged value means no product, colour or product type has changed since.
+ * <p>
+ * The counter starts from the startup time, so values handed out before a restart are not reused after it.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * @return The current catalog version.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.productapp.cache;
+
+import com.example.productapp.config.ReadWriteRoutingDataSource;
+import com.example.productapp.dto.CacheStatsDTO;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through in-memory cache of the colour and product type tables.
+ * Each table is loaded as a whole on first use and kept until a write invalidates it.
+ * Tables larger than the configured bound are not cached. Until the next write, lookups by ID then query just
+ * those IDs, and only full listings read the whole table.
+ * <p>
+ * Loads read the primary, because a lagging replica snapshot would be kept until the next write. They join the
+ * caller's transaction instead of opening their own, so a miss never holds a second pool connection.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final Table<Colour> colours;
+    private final Table<ProductType> productTypes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReferenceDataCache(ColourRepository colourRepository,
+                              ProductTypeRepository productTypeRepository,
+                              @Value("${app.reference-cache.max-entries:1000}") int maxEntries) {
+        this.colours = new Table<>("colours", colourRepository::findAll, colourRepository::findAllById,
+                Colour::getId, maxEntries);
+        this.productTypes = new Table<>("product types", productTypeRepository::findAll,
+                productTypeRepository::findAllById, ProductType::getId, maxEntries);
+    }
+
+    /**
+     * @return All colours, in database order.
+     */
+    public List<Colour> getAllColours() {
+        return colours.all();
+    }
+
+    /**
+     * Resolves colour IDs to colours. Unknown IDs are skipped and duplicates are collapsed.
+     *
+     * @param ids Colour IDs.
+     * @return The colours that exist, in request order.
+     */
+    public List<Colour> findColours(Collection<Long> ids) {
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        Map<Long, Colour> byId = colours.byIds(uniqueIds);
+        List<Colour> found = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Colour colour = byId.get(id);
+            if (colour != null) {
+                found.add(colour);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return All product types, in database order.
+     */
+    public List<ProductType> getAllProductTypes() {
+        return productTypes.all();
+    }
+
+    /**
+     * @param id Product type ID.
+     * @return The product type, if it exists.
+     */
+    public Optional<ProductType> findProductType(Long id) {
+        return Optional.ofNullable(productTypes.byIds(Collections.singleton(id)).get(id));
+    }
+
+    /**
+     * Drops the cached colours once the current transaction commits, or immediately outside a transaction.
+     */
+    public void invalidateColours() {
+        afterCommit(colours::invalidate);
+    }
+
+    /**
+     * Drops the cached product types once the current transaction commits, or immediately outside a transaction.
+     */
+    public void invalidateProductTypes() {
+        afterCommit(productTypes::invalidate);
+    }
+
+    /**
+     * @return Hit/miss counters and the number of cached rows per table.
+     */
+    public CacheStatsDTO getStats() {
+        return new CacheStatsDTO(hits.sum(), misses.sum(), colours.cachedSize(), productTypes.cachedSize());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Snapshot<T>(List<T> all, Map<Long, T> byId) {
+    }
+
+    /**
+     * One cached table. A load that races with an invalidation is returned to its caller but not kept,
+     * so a snapshot read before a write commits can never outlive that write.
+     * <p>
+     * A load above the limit marks the table as too large until the next invalidation, so that lookups by ID
+     * query only those IDs instead of reloading the whole table each time. Reads that are not kept may use the
+     * replica.
+     * <p>
+     * Concurrent misses wait for a single load rather than each running their own. The lock is a
+     * {@link ReentrantLock} so that virtual threads waiting on it, or holding it during the query, do not pin
+     * their carrier.
+     */
+    private final class Table<T> {
+        private final String name;
+        private final Supplier<List<T>> loader;
+        private final Function<Collection<Long>, List<T>> idLoader;
+        private final Function<T, Long> idOf;
+        private final int maxEntries;
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private volatile Snapshot<T> cached;
+        private volatile boolean tooLarge;
+        private long generation;
+
+        Table(String name, Supplier<List<T>> loader, Function<Collection<Long>, List<T>> idLoader,
+              Function<T, Long> idOf, int maxEntries) {
+            this.name = name;
+            this.loader = loader;
+            this.idLoader = idLoader;
+            this.idOf = idOf;
+            this.maxEntries = maxEntries;
+        }
+
+        List<T> all() {
+            Snapshot<T> current = snapshot();
+            return current != null ? current.all() : loader.get();
+        }
+
+        Map<Long, T> byIds(Collection<Long> ids) {
+            Snapshot<T> current = snapshot();
+            if (current != null) {
+                return current.byId();
+            }
+            List<Long> wanted = ids.stream().filter(Objects::nonNull).toList();
+            Map<Long, T> found = new HashMap<>();
+            if (!wanted.isEmpty()) {
+                idLoader.apply(wanted).forEach(row -> found.put(idOf.apply(row), row));
+            }
+            return found;
+        }
+
+        /**
+         * @return The cached rows, a fresh load, or null if the table is known to exceed the limit.
+         */
+        private Snapshot<T> snapshot() {
+            Snapshot<T> current = cached;
+            if (current != null) {
+                hits.increment();
+                return current;
+            }
+            if (tooLarge) {
+                misses.increment();
+                return null;
+            }
+            loadLock.lock();
+            try {
+                current = cached;
+                if (current != null) {
+                    hits.increment();
+                    return current;
+                }
+                misses.increment();
+                return tooLarge ? null : load();
+            } finally {
+                loadLock.unlock();
+            }
+        }
+
+        private Snapshot<T> load() {
+            long loadGeneration;
+            synchronized (this) {
+                loadGeneration = generation;
+            }
+            List<T> rows = ReadWriteRoutingDataSource.onPrimary(loader);
+            Map<Long, T> byId = new LinkedHashMap<>();
+            rows.forEach(row -> byId.put(idOf.apply(row), row));
+            Snapshot<T> loaded = new Snapshot<>(List.copyOf(rows), Collections.unmodifiableMap(byId));
+
+            synchronized (this) {
+                if (generation != loadGeneration) {
+                    return loaded;
+                }
+                if (rows.size() > maxEntries) {
+                    tooLarge = true;
+                    logger.warn("Not caching {}: {} rows exceed the limit of {}.", name, rows.size(), maxEntries);
+                } else {
+                    cached = loaded;
+                    logger.info("Cached {} {}.", rows.size(), name);
+                }
+            }
+            return loaded;
+        }
+
+        synchronized void invalidate() {
+            generation++;
+            cached = null;
+            tooLarge = false;
+            logger.info("Invalidated cached {}.", name);
+        }
+
+        int cachedSize() {
+            Snapshot<T> current = cached;
+            return current == null ? 0 : current.all().size();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.productapp.cache;
+
+import com.example.productapp.dto.EntityCacheStatsDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps Hibernate's second-level cache in step with writes that bypass Hibernate, and reports its statistics.
+ * <p>
+ * Writes through the entities update the cache themselves. Colour assignments, merges and bulk updates are
+ * written with plain SQL, so the cached colour sets of the affected products are evicted once they commit.
+ */
+@Component
+public class SecondLevelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCache.class);
+
+    private final SessionFactory sessionFactory;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entity() != CatalogEntity.PRODUCT) {
+            return;
+        }
+        org.hibernate.Cache cache = sessionFactory.getCache();
+        if (event.isWide()) {
+            logger.info("Evicting all cached product colours after a bulk change.");
+            cache.evictCollectionData(Product.COLOURS_CACHE_ROLE);
+            return;
+        }
+        for (Long id : event.ids()) {
+            cache.evictCollectionData(Product.COLOURS_CACHE_ROLE, id);
+        }
+    }
+
+    /**
+     * @return Hit, miss and put counters of every cache region since startup.
+     */
+    public List<EntityCacheStatsDTO> getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+                    return new EntityCacheStatsDTO(region, regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                            regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory());
+                })
+                .toList();
+    }
+}
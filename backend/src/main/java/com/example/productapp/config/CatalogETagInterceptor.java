@@ -0,0 +1,126 @@
+package com.example.productapp.config;
+
+import com.example.productapp.cache.CatalogVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers conditional GETs on catalog read endpoints from the catalog version alone.
+ * A request whose If-None-Match carries the current ETag gets a 304 before the controller runs,
+ * so neither the database nor the serializer is touched. Any other request gets the current ETag.
+ * The version is read before the controller reads any data, so an ETag is never newer than its body.
+ * <p>
+ * JSON, Smile and CBOR bodies of the same version are different representations, so the binary formats
+ * get their own ETag and the response varies on Accept.
+ * <p>
+ * The ETag is weak: the same version is served gzipped or not, and Tomcat only compresses responses whose
+ * ETag is weak.
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+    private static final List<MediaType> PRODUCIBLE_TYPES = List.of(MediaType.APPLICATION_JSON,
+            new MediaType("application", "*+json"), APPLICATION_SMILE, MediaType.APPLICATION_CBOR);
+
+    private final CatalogVersion catalogVersion;
+
+    public CatalogETagInterceptor(CatalogVersion catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+
+        String etag = "W/\"" + catalogVersion.current() + representationSuffix(request.getHeader(HttpHeaders.ACCEPT)) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        // Added to, not replacing, any Vary set earlier in the chain such as CORS's Vary: Origin
+        if (response.getHeaders(HttpHeaders.VARY).stream()
+                .flatMap(vary -> Arrays.stream(vary.split(",")))
+                .noneMatch(name -> name.trim().equalsIgnoreCase(HttpHeaders.ACCEPT))) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Picks the format content negotiation will choose, the way Spring MVC's message converters do: the accepted
+     * types are sorted by quality and specificity, each is matched against the types the JSON, Smile and CBOR
+     * converters produce (in converter order), and the first concrete match wins. Unparseable headers count as
+     * JSON; the request then fails negotiation anyway.
+     */
+    static String representationSuffix(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null || accept.isBlank() ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        accepted = new ArrayList<>(accepted);
+        MimeTypeUtils.sortBySpecificity(accepted);
+
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType acceptedType : accepted) {
+            for (MediaType producible : PRODUCIBLE_TYPES) {
+                if (acceptedType.isCompatibleWith(producible)) {
+                    MediaType produced = producible.copyQualityValue(acceptedType);
+                    compatible.add(acceptedType.isLessSpecific(produced) ? produced : acceptedType);
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+
+        for (MediaType type : compatible) {
+            if (type.isConcrete()) {
+                if (type.equalsTypeAndSubtype(APPLICATION_SMILE)) {
+                    return "-smile";
+                }
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return "-cbor";
+                }
+                return "";
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Weak comparison, as If-None-Match requires: the W/ prefix is ignored on both sides.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
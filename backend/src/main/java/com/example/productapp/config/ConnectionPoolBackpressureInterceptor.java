@@ -0,0 +1,74 @@
+package com.example.productapp.config;
+
+import com.example.productapp.exception.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of API requests in flight to roughly the size of the connection pool.
+ * With virtual threads Tomcat no longer caps concurrency, so a burst would otherwise pile up on the
+ * pool and time out there; here excess requests wait a short, bounded time for a permit and are
+ * then turned away with 503 so clients can retry.
+ * <p>
+ * A permit is held until the request completes, including the async part of streamed responses.
+ */
+@Component
+@ConditionalOnProperty(name = "app.backpressure.enabled", havingValue = "true")
+public class ConnectionPoolBackpressureInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolBackpressureInterceptor.class);
+    private static final String PERMIT_ATTRIBUTE = ConnectionPoolBackpressureInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ConnectionPoolBackpressureInterceptor(@Value("${app.backpressure.max-concurrent-requests:10}") int maxConcurrentRequests,
+                                                 @Value("${app.backpressure.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeout = acquireTimeout;
+        logger.info("Limiting API requests to {} concurrent, waiting at most {} ms for a slot.",
+                maxConcurrentRequests, acquireTimeout.toMillis());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws InterruptedException {
+        // The async dispatch of a streamed response still holds the permit from the original request
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            logger.error("Rejected {} {}: No request slot became free within {} ms.",
+                    request.getMethod(), request.getRequestURI(), acquireTimeout.toMillis());
+            response.setHeader("Retry-After", "1");
+            throw new ServiceUnavailableException("The server is busy. Please retry shortly.");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    /**
+     * @return Number of requests that could start right now without waiting.
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
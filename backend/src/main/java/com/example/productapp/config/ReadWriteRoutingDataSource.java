@@ -0,0 +1,90 @@
+package com.example.productapp.config;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of read-only transactions made while serving a request to the replica pool, and everything
+ * else to the primary. Background work such as index rebuilds keeps what it reads until the next change event,
+ * so a stale replica snapshot would never be corrected; it always reads the primary.
+ * <p>
+ * The key is read when the connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the transaction
+ * manager takes the connection before the transaction is marked read-only.
+ * <p>
+ * For a short window after each catalog write, read-only transactions stay on the primary as well.
+ * Without it, a read that follows a write could come from a lagging replica and be kept by the reference
+ * data cache, the facet index or a client holding the new ETag.
+ * <p>
+ * Request-thread reads that are kept until the next change, such as reference data cache loads, go through
+ * {@link #onPrimary(Supplier)} instead of opening a transaction of their own.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_HINT = new ThreadLocal<>();
+
+    private final long readAfterWriteWindowNanos;
+    private final LongSupplier nanoClock;
+    private volatile long primaryUntil;
+
+    public ReadWriteRoutingDataSource(Duration readAfterWriteWindow) {
+        this(readAfterWriteWindow, System::nanoTime);
+    }
+
+    ReadWriteRoutingDataSource(Duration readAfterWriteWindow, LongSupplier nanoClock) {
+        this.readAfterWriteWindowNanos = readAfterWriteWindow.toNanos();
+        this.nanoClock = nanoClock;
+        this.primaryUntil = nanoClock.getAsLong();
+    }
+
+    /**
+     * Runs {@code work} with the connections fetched on this thread sent to the primary. It joins the current
+     * transaction rather than starting one, so it never holds a second connection; a connection the transaction
+     * has already fetched keeps its route, so call this before the transaction's first query.
+     *
+     * @param work Reads to run.
+     * @return The result of {@code work}.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (PRIMARY_HINT.get() != null) {
+            return work.get();
+        }
+        PRIMARY_HINT.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_HINT.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || RequestContextHolder.getRequestAttributes() == null
+                || PRIMARY_HINT.get() != null) {
+            return Route.PRIMARY;
+        }
+        return nanoClock.getAsLong() - primaryUntil < 0 ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    /**
+     * Keeps reads on the primary for the read-after-write window. Runs before the other listeners,
+     * so the reads they trigger already go to the primary.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        primaryUntil = nanoClock.getAsLong() + readAfterWriteWindowNanos;
+    }
+}
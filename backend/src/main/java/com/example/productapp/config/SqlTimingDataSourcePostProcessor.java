@@ -0,0 +1,40 @@
+package com.example.productapp.config;
+
+import com.example.productapp.metrics.SqlTimingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the connection pools so that every statement passes through {@link SqlTimingListener}.
+ * The pool stays underneath, so pool metrics and {@code unwrap} to the driver connection keep working.
+ * DataSources that only hand out connections of other DataSources (the read/write routing and its lazy proxy)
+ * are left alone, so each statement is timed once.
+ */
+@Component
+public class SqlTimingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlTimingListener> sqlTimingListener;
+
+    public SqlTimingDataSourcePostProcessor(ObjectProvider<SqlTimingListener> sqlTimingListener) {
+        this.sqlTimingListener = sqlTimingListener;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                && !(bean instanceof AbstractRoutingDataSource) && !(bean instanceof DelegatingDataSource)) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(sqlTimingListener.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
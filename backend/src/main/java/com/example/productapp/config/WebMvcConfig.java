@@ -0,0 +1,33 @@
+package com.example.productapp.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration of Spring MVC request handling.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final CatalogETagInterceptor catalogETagInterceptor;
+    private final ObjectProvider<ConnectionPoolBackpressureInterceptor> backpressureInterceptor;
+
+    public WebMvcConfig(CatalogETagInterceptor catalogETagInterceptor,
+                        ObjectProvider<ConnectionPoolBackpressureInterceptor> backpressureInterceptor) {
+        this.catalogETagInterceptor = catalogETagInterceptor;
+        this.backpressureInterceptor = backpressureInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Registered first so that 304 answers never wait for a request slot
+        registry.addInterceptor(catalogETagInterceptor)
+                .addPathPatterns("/api/products", "/api/colours", "/api/product-types");
+        // The change stream holds no database connection but stays open for minutes, so it takes no slot
+        backpressureInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/changes/**"));
+    }
+}
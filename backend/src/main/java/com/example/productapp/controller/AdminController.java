@@ -0,0 +1,130 @@
+package com.example.productapp.controller;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.cache.SecondLevelCache;
+import com.example.productapp.dto.CacheStatsDTO;
+import com.example.productapp.dto.ColourMergeResultDTO;
+import com.example.productapp.dto.EntityCacheStatsDTO;
+import com.example.productapp.dto.RetypeRequestDTO;
+import com.example.productapp.dto.RetypeResultDTO;
+import com.example.productapp.dto.SqlStatementStatsDTO;
+import com.example.productapp.metrics.SqlStatementStats;
+import com.example.productapp.service.CatalogMaintenanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for operational and diagnostic endpoints.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    private static final int MAX_SQL_STATEMENTS = 100;
+
+    private final ReferenceDataCache referenceDataCache;
+    private final SecondLevelCache secondLevelCache;
+    private final SqlStatementStats sqlStatementStats;
+    private final CatalogMaintenanceService catalogMaintenanceService;
+
+    public AdminController(ReferenceDataCache referenceDataCache, SecondLevelCache secondLevelCache,
+                           SqlStatementStats sqlStatementStats, CatalogMaintenanceService catalogMaintenanceService) {
+        this.referenceDataCache = referenceDataCache;
+        this.secondLevelCache = secondLevelCache;
+        this.sqlStatementStats = sqlStatementStats;
+        this.catalogMaintenanceService = catalogMaintenanceService;
+    }
+
+    /**
+     * Retrieves hit/miss counters of the colour and product type cache.
+     *
+     * @return Cache statistics.
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        logger.info("Received request to fetch reference data cache statistics.");
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+
+    /**
+     * Retrieves hit/miss counters of the Hibernate second-level cache regions.
+     *
+     * @return Statistics per cache region.
+     */
+    @GetMapping("/cache/entities")
+    public ResponseEntity<List<EntityCacheStatsDTO>> getEntityCacheStats() {
+        logger.info("Received request to fetch second-level cache statistics.");
+        return ResponseEntity.ok(secondLevelCache.getStats());
+    }
+
+    /**
+     * Retrieves the SQL statement shapes with the slowest single execution since startup or the last reset.
+     *
+     * @param top Number of statement shapes to return.
+     * @return Execution statistics, slowest first.
+     */
+    @GetMapping("/sql")
+    public ResponseEntity<List<SqlStatementStatsDTO>> getSlowestStatements(@RequestParam(defaultValue = "10") int top) {
+        logger.info("Received request to fetch the {} slowest SQL statements.", top);
+        if (top < 1 || top > MAX_SQL_STATEMENTS) {
+            throw new IllegalArgumentException("Top must be between 1 and " + MAX_SQL_STATEMENTS + ".");
+        }
+        return ResponseEntity.ok(sqlStatementStats.getSlowest(top));
+    }
+
+    /**
+     * Clears the recorded SQL statement statistics.
+     *
+     * @return Empty response.
+     */
+    @DeleteMapping("/sql")
+    public ResponseEntity<Void> resetStatementStats() {
+        logger.info("Received request to reset SQL statement statistics.");
+        sqlStatementStats.reset();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Moves every product from one colour to another, optionally deleting the merged colour.
+     *
+     * @param id           Colour to merge away.
+     * @param into         Colour to keep.
+     * @param deleteSource True to delete the merged colour afterwards.
+     * @return Number of products moved.
+     */
+    @PostMapping("/colours/{id}/merge")
+    public ResponseEntity<ColourMergeResultDTO> mergeColours(@PathVariable Long id, @RequestParam Long into,
+                                                             @RequestParam(defaultValue = "false") boolean deleteSource) {
+        logger.info("Received request to merge colour {} into colour {}", id, into);
+        ColourMergeResultDTO result = catalogMaintenanceService.mergeColours(id, into, deleteSource);
+        logger.info("Returning colour merge result: {} products updated.", result.getProductsUpdated());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Changes the product type of every product matching a filter.
+     *
+     * @param request Target product type and filter criteria.
+     * @return Number of products changed.
+     */
+    @PostMapping("/products/retype")
+    public ResponseEntity<RetypeResultDTO> retypeProducts(@RequestBody RetypeRequestDTO request) {
+        logger.info("Received request to retype products to type {}", request.getTargetProductTypeId());
+        RetypeResultDTO result = catalogMaintenanceService.retypeProducts(request);
+        logger.info("Returning retype result: {} products updated.", result.getProductsUpdated());
+        return ResponseEntity.ok(result);
+    }
+}
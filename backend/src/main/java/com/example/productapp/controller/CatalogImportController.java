@@ -0,0 +1,57 @@
+package com.example.productapp.controller;
+
+import com.example.productapp.dto.ImportStatusDTO;
+import com.example.productapp.service.CatalogImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * REST Controller for importing product catalogs from CSV.
+ */
+@RestController
+@RequestMapping("/api/products/import")
+public class CatalogImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportController.class);
+
+    private final CatalogImportService catalogImportService;
+
+    public CatalogImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    /**
+     * Imports products from a CSV request body. The body is streamed, not buffered.
+     *
+     * @param csv CSV content with a name,productType,colours header.
+     * @return Outcome of the import with rejected rows.
+     * @throws IOException If the request body cannot be read.
+     */
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ImportStatusDTO> importCsv(InputStream csv) throws IOException {
+        logger.info("Received request to import a product catalog.");
+        ImportStatusDTO result = catalogImportService.importCsv(csv);
+        logger.info("Catalog import {} imported {} products and rejected {} rows.", result.getId(), result.getImported(), result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves the progress of running imports and the outcome of recent ones.
+     *
+     * @return Import statuses, newest first.
+     */
+    @GetMapping
+    public ResponseEntity<List<ImportStatusDTO>> getRecentImports() {
+        logger.info("Received request to fetch catalog import status.");
+        return ResponseEntity.ok(catalogImportService.getRecentImports());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.productapp.controller;
+
+import com.example.productapp.dto.SyncDTO;
+import com.example.productapp.service.CatalogSyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for incremental catalog sync.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class CatalogSyncController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSyncController.class);
+
+    private final CatalogSyncService catalogSyncService;
+
+    public CatalogSyncController(CatalogSyncService catalogSyncService) {
+        this.catalogSyncService = catalogSyncService;
+    }
+
+    /**
+     * Retrieves the catalog rows created, changed or deleted since a version.
+     *
+     * @param since Version returned by the previous sync; omit or 0 for the whole catalog.
+     * @return Changed rows, deleted row IDs and the version to pass next time.
+     */
+    @GetMapping
+    public ResponseEntity<SyncDTO> getChanges(@RequestParam(defaultValue = "0") long since) {
+        logger.info("Received request to sync catalog changes since version {}", since);
+        SyncDTO changes = catalogSyncService.getChangesSince(since);
+        logger.info("Returning {} changed products and {} deletions; next version {}",
+                changes.getProducts().size(), changes.getDeleted().size(), changes.getVersion());
+        return ResponseEntity.ok(changes);
+    }
+}
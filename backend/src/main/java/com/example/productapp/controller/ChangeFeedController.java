@@ -0,0 +1,40 @@
+package com.example.productapp.controller;
+
+import com.example.productapp.service.ChangeFeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST Controller for the catalog change feed.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedController.class);
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Streams product, colour and product type changes as Server-Sent Events.
+     * Each event carries the entity, the change type, the affected IDs and the change version as its ID.
+     *
+     * @param lastEventId Version of the last event received, sent by browsers when they reconnect.
+     * @return Event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        logger.info("Received request to stream catalog changes after version {}", lastEventId);
+        return changeFeedService.subscribe(lastEventId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.productapp.controller;
 
+import com.example.productapp.dto.UsageDTO;
 import com.example.productapp.model.Colour;
 import com.example.productapp.service.ColourService;
 import org.slf4j.Logger;
@@ -79,4 +80,18 @@ public class ColourController {
         logger.info("Returning updated colour with ID: {} and name: {}", id, updatedColour.getName());
         return ResponseEntity.ok(updatedColour);
     }
+
+    /**
+     * Retrieves the number of products using a colour.
+     *
+     * @param id Colour ID.
+     * @return Usage count.
+     */
+    @GetMapping("/{id}/usage")
+    public ResponseEntity<UsageDTO> getColourUsage(@PathVariable Long id) {
+        logger.info("Received request to fetch usage of colour with ID: {}", id);
+        UsageDTO usage = colourService.getColourUsage(id);
+        logger.info("Returning usage of colour with ID {}: {} products.", id, usage.getProductCount());
+        return ResponseEntity.ok(usage);
+    }
 }
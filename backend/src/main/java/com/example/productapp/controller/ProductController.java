@@ -1,15 +1,25 @@
 package com.example.productapp.controller;
 
+import com.example.productapp.dto.BulkCreateResultDTO;
+import com.example.productapp.dto.ColourAssignmentResultDTO;
 import com.example.productapp.dto.ProductDTO;
+import com.example.productapp.dto.ProductFilterResultDTO;
 import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.dto.ProductPageDTO;
 import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductField;
+import com.example.productapp.service.ProductExportService;
+import com.example.productapp.service.ProductFilterService;
 import com.example.productapp.service.ProductService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * REST Controller for managing Product-related API endpoints.
@@ -20,10 +30,17 @@ public class ProductController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductController.class);
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductFilterService productFilterService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductFilterService productFilterService) {
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productFilterService = productFilterService;
     }
 
     /**
@@ -41,18 +58,134 @@ public class ProductController {
     }
 
     /**
-     * Retrieves all products with detailed information, ordered by creation date.
+     * Creates many products in one request. Invalid items, and items that could not be saved, are skipped
+     * and reported with their index.
+     *
+     * @param dtos Product creation request data.
+     * @return ResponseEntity with the created IDs and per-item errors.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResultDTO> createProducts(@RequestBody List<ProductDTO> dtos) {
+        logger.info("Received request to create {} products in bulk.", dtos.size());
+        BulkCreateResultDTO result = productService.createProducts(dtos);
+        logger.info("Bulk creation created {} products and rejected {}.", result.getCreated(), result.getErrors().size());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves products with detailed information, ordered by creation date.
+     * When a limit or cursor is given, a single page is returned and the cursor of the
+     * next page is sent in the X-Next-Cursor header; otherwise the full list is returned.
      *
+     * @param limit Maximum number of products per page.
+     * @param after Cursor of the page to fetch, as returned in X-Next-Cursor.
      * @return List of products.
      */
     @GetMapping
-    public ResponseEntity<List<ProductListDTO>> getAllProducts() {
-        logger.info("Received request to fetch all products.");
-        List<ProductListDTO> products = productService.getAllProducts();
-        logger.info("Returning {} products in response.", products.size());
+    public ResponseEntity<List<ProductListDTO>> getAllProducts(@RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) String after) {
+        if (limit == null && after == null) {
+            logger.info("Received request to fetch all products.");
+            List<ProductListDTO> products = productService.getAllProducts();
+            logger.info("Returning {} products in response.", products.size());
+            return ResponseEntity.ok(products);
+        }
+
+        logger.info("Received request to fetch products page: after={}, limit={}", after, limit);
+        ProductPageDTO page = productService.getProductsPage(after, limit != null ? limit : ProductService.DEFAULT_PAGE_SIZE);
+        logger.info("Returning {} products in response.", page.getItems().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Retrieves products like {@link #getAllProducts(Integer, String)}, with only the requested fields.
+     * Fields that are not requested are left out of the response and of the database query.
+     *
+     * @param fields Comma-separated fields: id, name, productType, colours. The ID is always returned.
+     * @param limit  Maximum number of products per page.
+     * @param after  Cursor of the page to fetch, as returned in X-Next-Cursor.
+     * @return List of products.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<ProductListDTO>> getProductsWithFields(@RequestParam String fields,
+                                                                      @RequestParam(required = false) Integer limit,
+                                                                      @RequestParam(required = false) String after) {
+        Set<ProductField> productFields = ProductField.parse(fields);
+        if (limit == null && after == null) {
+            logger.info("Received request to fetch all products with fields {}.", productFields);
+            List<ProductListDTO> products = productService.getAllProducts(productFields);
+            logger.info("Returning {} products in response.", products.size());
+            return ResponseEntity.ok(products);
+        }
+
+        logger.info("Received request to fetch products page with fields {}: after={}, limit={}", productFields, after, limit);
+        ProductPageDTO page = productService.getProductsPage(after, limit != null ? limit : ProductService.DEFAULT_PAGE_SIZE, productFields);
+        logger.info("Returning {} products in response.", page.getItems().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Searches products by name, case-insensitively, returning the best matches first.
+     *
+     * @param q     Text to search for; matches anywhere in the name from three characters on.
+     * @param limit Maximum number of results.
+     * @return Matching products.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductListDTO>> searchProducts(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "" + ProductService.DEFAULT_SEARCH_LIMIT) int limit) {
+        logger.info("Received request to search products for: {}", q);
+        List<ProductListDTO> products = productService.searchProducts(q, limit);
+        logger.info("Returning {} matching products in response.", products.size());
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Filters products by product type and colour and returns the match count per facet value.
+     *
+     * @param typeIds     Product types to match (any of them); omit for all types.
+     * @param colourIds   Colours to match; omit for all colours.
+     * @param colourMatch "any" or "all" of the given colours.
+     * @param limit       Maximum number of products to return.
+     * @return Newest matching products with total and facet counts.
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<ProductFilterResultDTO> filterProducts(@RequestParam(required = false) List<Long> typeIds,
+                                                                 @RequestParam(required = false) List<Long> colourIds,
+                                                                 @RequestParam(defaultValue = "any") String colourMatch,
+                                                                 @RequestParam(defaultValue = "" + ProductService.DEFAULT_PAGE_SIZE) int limit) {
+        logger.info("Received request to filter products by types {} and colours {}.", typeIds, colourIds);
+        ProductFilterResultDTO result = productFilterService.filterProducts(typeIds, colourIds, colourMatch, limit);
+        logger.info("Returning {} of {} matching products in response.", result.getItems().size(), result.getTotal());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Exports the full catalog as newline-delimited JSON, one product per line.
+     * Rows are written to the response as they are read from the database.
+     *
+     * @return Streaming response body.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        logger.info("Received request to export all products.");
+        StreamingResponseBody body = out -> {
+            long count = productExportService.exportProducts(out);
+            logger.info("Export finished with {} products.", count);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Retrieves a specific product by its ID.
      *
@@ -67,6 +200,21 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    /**
+     * Retrieves the requested fields of a product, in the same format as the product list.
+     *
+     * @param id     Product ID.
+     * @param fields Comma-separated fields: id, name, productType, colours. The ID is always returned.
+     * @return ResponseEntity with the product's fields.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<ProductListDTO> getProductFields(@PathVariable Long id, @RequestParam String fields) {
+        logger.info("Received request to fetch fields {} of product with ID: {}", fields, id);
+        ProductListDTO product = productService.getProductFields(id, ProductField.parse(fields));
+        logger.info("Returning fields of product with ID: {}", product.getId());
+        return ResponseEntity.ok(product);
+    }
+
     /**
      * Deletes a product by ID.
      *
@@ -95,4 +243,64 @@ public class ProductController {
         logger.info("Returning updated product with ID: {} and name: {}", updatedProduct.getId(), updatedProduct.getName());
         return ResponseEntity.ok(updatedProduct);
     }
+
+    /**
+     * Adds a colour to a product.
+     *
+     * @param id       Product ID.
+     * @param colourId Colour ID.
+     * @return Response entity with status.
+     */
+    @PostMapping("/{id}/colours/{colourId}")
+    public ResponseEntity<Void> attachColour(@PathVariable Long id, @PathVariable Long colourId) {
+        logger.info("Received request to attach colour {} to product {}", colourId, id);
+        productService.attachColour(id, colourId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Removes a colour from a product.
+     *
+     * @param id       Product ID.
+     * @param colourId Colour ID.
+     * @return Response entity with status.
+     */
+    @DeleteMapping("/{id}/colours/{colourId}")
+    public ResponseEntity<Void> detachColour(@PathVariable Long id, @PathVariable Long colourId) {
+        logger.info("Received request to detach colour {} from product {}", colourId, id);
+        productService.detachColour(id, colourId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Adds a colour to many products at once.
+     *
+     * @param colourId   Colour ID.
+     * @param productIds Product IDs.
+     * @return Number of requested and changed products.
+     */
+    @PostMapping("/colours/{colourId}")
+    public ResponseEntity<ColourAssignmentResultDTO> attachColourToProducts(@PathVariable Long colourId,
+                                                                            @RequestBody List<Long> productIds) {
+        logger.info("Received request to attach colour {} to {} products", colourId, productIds.size());
+        ColourAssignmentResultDTO result = productService.attachColour(productIds, colourId);
+        logger.info("Returning colour assignment result: {} of {} products changed.", result.getAffected(), result.getRequested());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Removes a colour from many products at once.
+     *
+     * @param colourId   Colour ID.
+     * @param productIds Product IDs.
+     * @return Number of requested and changed products.
+     */
+    @DeleteMapping("/colours/{colourId}")
+    public ResponseEntity<ColourAssignmentResultDTO> detachColourFromProducts(@PathVariable Long colourId,
+                                                                              @RequestParam List<Long> productIds) {
+        logger.info("Received request to detach colour {} from {} products", colourId, productIds.size());
+        ColourAssignmentResultDTO result = productService.detachColour(productIds, colourId);
+        logger.info("Returning colour assignment result: {} of {} products changed.", result.getAffected(), result.getRequested());
+        return ResponseEntity.ok(result);
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.productapp.controller;
 
+import com.example.productapp.dto.UsageDTO;
 import com.example.productapp.model.ProductType;
 import com.example.productapp.service.ProductTypeService;
 import org.slf4j.Logger;
@@ -79,4 +80,18 @@ public class ProductTypeController {
         logger.info("Product type with ID: {} updated successfully to: {}", id, updatedType.getName());
         return ResponseEntity.ok(updatedType);
     }
+
+    /**
+     * Retrieves the number of products using a product type.
+     *
+     * @param id Product type ID.
+     * @return Usage count.
+     */
+    @GetMapping("/{id}/usage")
+    public ResponseEntity<UsageDTO> getProductTypeUsage(@PathVariable Long id) {
+        logger.info("Received request to fetch usage of product type with ID: {}", id);
+        UsageDTO usage = productTypeService.getProductTypeUsage(id);
+        logger.info("Returning usage of product type with ID {}: {} products.", id, usage.getProductCount());
+        return ResponseEntity.ok(usage);
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk product creation request.
+ */
+@Data
+@AllArgsConstructor
+public class BulkCreateResultDTO {
+    private int requested;
+    private int created;
+    private List<Long> createdIds;
+    private List<BulkItemErrorDTO> errors;
+}
@@ -0,0 +1,14 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO describing why one item of a bulk request was rejected.
+ */
+@Data
+@AllArgsConstructor
+public class BulkItemErrorDTO {
+    private int index;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting reference data cache statistics.
+ */
+@Data
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private long hits;
+    private long misses;
+    private int cachedColours;
+    private int cachedProductTypes;
+}
@@ -0,0 +1,21 @@
+package com.example.productapp.dto;
+
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for one entry of the catalog change feed.
+ */
+@Data
+@AllArgsConstructor
+public class ChangeEventDTO {
+    private long version;
+    private CatalogEntity entity;
+    private ChangeType type;
+    /** IDs of the changed rows, or null when any row of the entity may have changed. */
+    private List<Long> ids;
+}
@@ -0,0 +1,14 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting the outcome of attaching or detaching a colour on many products.
+ */
+@Data
+@AllArgsConstructor
+public class ColourAssignmentResultDTO {
+    private int requested;
+    private int affected;
+}
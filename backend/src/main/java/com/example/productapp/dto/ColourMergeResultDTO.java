@@ -0,0 +1,16 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting the outcome of merging one colour into another.
+ */
+@Data
+@AllArgsConstructor
+public class ColourMergeResultDTO {
+    private Long sourceColourId;
+    private Long targetColourId;
+    private int productsUpdated;
+    private boolean sourceDeleted;
+}
@@ -0,0 +1,17 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting the statistics of one Hibernate second-level cache region.
+ */
+@Data
+@AllArgsConstructor
+public class EntityCacheStatsDTO {
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long entries;
+}
@@ -0,0 +1,14 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO describing a CSV row that was rejected during a catalog import.
+ */
+@Data
+@AllArgsConstructor
+public class ImportRejectionDTO {
+    private long line;
+    private String reason;
+}
@@ -0,0 +1,23 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO reporting the progress or outcome of a catalog import.
+ */
+@Data
+@AllArgsConstructor
+public class ImportStatusDTO {
+    private String id;
+    private String status;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private List<ImportRejectionDTO> rejections;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
@@ -0,0 +1,19 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for filtered products together with the per-facet match counts.
+ */
+@Data
+@AllArgsConstructor
+public class ProductFilterResultDTO {
+    private long total;
+    private List<ProductListDTO> items;
+    private Map<Long, Long> productTypeCounts;
+    private Map<Long, Long> colourCounts;
+}
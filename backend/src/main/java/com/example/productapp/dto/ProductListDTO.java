@@ -1,5 +1,6 @@
 package com.example.productapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,8 +8,10 @@ import java.util.List;
 
 /**
  * DTO for returning detailed product information.
+ * Fields left out of a sparse fieldset are null and omitted from the response.
  */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @AllArgsConstructor
 public class ProductListDTO {
     private Long id;
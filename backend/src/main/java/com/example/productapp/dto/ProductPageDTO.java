@@ -0,0 +1,16 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for a single page of the product listing together with the cursor of the next page.
+ */
+@Data
+@AllArgsConstructor
+public class ProductPageDTO {
+    private List<ProductListDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for changing the product type of every product that matches a filter.
+ * Criteria that are left empty are not applied; at least one must be given.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetypeRequestDTO {
+    private Long targetProductTypeId;
+    private List<Long> productTypeIds;
+    private List<Long> colourIds;
+    private String nameContains;
+}
@@ -0,0 +1,14 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting the outcome of a bulk product type change.
+ */
+@Data
+@AllArgsConstructor
+public class RetypeResultDTO {
+    private Long targetProductTypeId;
+    private int productsUpdated;
+}
@@ -0,0 +1,17 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting the execution times of one SQL statement shape.
+ */
+@Data
+@AllArgsConstructor
+public class SqlStatementStatsDTO {
+    private String sql;
+    private long executions;
+    private long totalMillis;
+    private double meanMillis;
+    private long maxMillis;
+}
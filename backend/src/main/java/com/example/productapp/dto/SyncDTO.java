@@ -0,0 +1,24 @@
+package com.example.productapp.dto;
+
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for the catalog rows created, changed or deleted since a sync version.
+ */
+@Data
+@AllArgsConstructor
+public class SyncDTO {
+    /** Version to send as {@code since} on the next sync. */
+    private long version;
+    private List<SyncProductDTO> products;
+    private List<Colour> colours;
+    private List<ProductType> productTypes;
+    private List<TombstoneDTO> deleted;
+    /** True when deletes older than the retained tombstones were missed: replace the local copy with these rows. */
+    private boolean reset;
+}
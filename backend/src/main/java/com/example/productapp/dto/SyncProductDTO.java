@@ -0,0 +1,18 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for a product in a sync response, referring to its type and colours by ID.
+ */
+@Data
+@AllArgsConstructor
+public class SyncProductDTO {
+    private Long id;
+    private String name;
+    private Long productTypeId;
+    private List<Long> colourIds;
+}
@@ -0,0 +1,15 @@
+package com.example.productapp.dto;
+
+import com.example.productapp.event.CatalogEntity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO identifying a deleted catalog row.
+ */
+@Data
+@AllArgsConstructor
+public class TombstoneDTO {
+    private CatalogEntity entity;
+    private Long id;
+}
@@ -0,0 +1,14 @@
+package com.example.productapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO for reporting how many products use a colour or product type.
+ */
+@Data
+@AllArgsConstructor
+public class UsageDTO {
+    private Long id;
+    private long productCount;
+}
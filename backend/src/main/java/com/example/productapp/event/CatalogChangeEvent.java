@@ -0,0 +1,36 @@
+package com.example.productapp.event;
+
+import java.util.List;
+
+/**
+ * Published by the services whenever catalog rows are written. Listeners that keep derived state
+ * (indexes, caches, version counters) react to it after the writing transaction commits.
+ *
+ * @param entity Kind of rows that changed.
+ * @param type   What happened to them.
+ * @param ids    IDs of the changed rows, or null when a set-based write may have touched any row of the entity.
+ */
+public record CatalogChangeEvent(CatalogEntity entity, ChangeType type, List<Long> ids) {
+
+    public static CatalogChangeEvent of(CatalogEntity entity, ChangeType type, Long id) {
+        return new CatalogChangeEvent(entity, type, List.of(id));
+    }
+
+    public static CatalogChangeEvent of(CatalogEntity entity, ChangeType type, List<Long> ids) {
+        return new CatalogChangeEvent(entity, type, List.copyOf(ids));
+    }
+
+    /**
+     * @return Event for a set-based write whose affected rows are not known individually.
+     */
+    public static CatalogChangeEvent allChanged(CatalogEntity entity) {
+        return new CatalogChangeEvent(entity, ChangeType.UPDATED, null);
+    }
+
+    /**
+     * @return True if any row of the entity may have changed.
+     */
+    public boolean isWide() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.productapp.event;
+
+/**
+ * Kinds of catalog rows that change events are published for.
+ */
+public enum CatalogEntity {
+    PRODUCT,
+    COLOUR,
+    PRODUCT_TYPE
+}
@@ -0,0 +1,10 @@
+package com.example.productapp.event;
+
+/**
+ * What happened to the rows named by a change event.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
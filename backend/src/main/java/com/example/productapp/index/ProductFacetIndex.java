@@ -0,0 +1,281 @@
+package com.example.productapp.index;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.repository.ProductJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory compressed bitmaps of product IDs, one per product type and one per colour, used to answer
+ * type/colour filters and facet counts without touching the database.
+ * <p>
+ * The index is built from the database once the application is ready and then kept current from
+ * {@link CatalogChangeEvent}s: after a product write commits, the affected products are re-read and
+ * their bits replaced. All maintenance runs on a single background thread, so it never adds latency
+ * to the write and is applied in commit order.
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductFacetIndex.class);
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-facet-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+    private volatile boolean ready;
+
+    public ProductFacetIndex(ProductJdbcRepository productJdbcRepository) {
+        this.productJdbcRepository = productJdbcRepository;
+    }
+
+    /**
+     * Result of a filter query.
+     *
+     * @param total             Number of matching products.
+     * @param productIds        IDs of the newest matching products, up to the requested limit.
+     * @param productTypeCounts Matching products per product type, ignoring the type filter.
+     * @param colourCounts      Matching products per colour, ignoring the colour filter when colours are ORed.
+     */
+    public record FacetResult(long total, List<Long> productIds,
+                              Map<Long, Long> productTypeCounts, Map<Long, Long> colourCounts) {
+    }
+
+    /**
+     * @return True once the initial build has finished.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Filters products by type and colour. Types are always ORed; colours are ORed or ANDed;
+     * the two facets are ANDed. An empty collection leaves that facet unfiltered.
+     *
+     * @param productTypeIds Product types to match.
+     * @param colourIds      Colours to match.
+     * @param allColours     True to require every colour, false to require any of them.
+     * @param limit          Maximum number of product IDs to return.
+     * @return Matching product IDs, newest first, with facet counts.
+     */
+    public FacetResult query(Collection<Long> productTypeIds, Collection<Long> colourIds, boolean allColours, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap typeFilter = productTypeIds.isEmpty() ? null : combine(bitmaps.byType, productTypeIds, false);
+            RoaringBitmap colourFilter = colourIds.isEmpty() ? null : combine(bitmaps.byColour, colourIds, allColours);
+
+            RoaringBitmap typeBase = colourFilter == null ? bitmaps.all : colourFilter;
+            RoaringBitmap colourBase = typeFilter == null ? bitmaps.all : typeFilter;
+            if (allColours && colourFilter != null) {
+                colourBase = RoaringBitmap.and(colourBase, colourFilter);
+            }
+            RoaringBitmap matches = typeFilter == null ? typeBase : RoaringBitmap.and(typeBase, typeFilter);
+
+            List<Long> productIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            IntIterator newestFirst = matches.getReverseIntIterator();
+            while (newestFirst.hasNext() && productIds.size() < limit) {
+                productIds.add(Integer.toUnsignedLong(newestFirst.next()));
+            }
+
+            return new FacetResult(matches.getLongCardinality(), productIds,
+                    counts(bitmaps.byType, typeBase), counts(bitmaps.byColour, colourBase));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products with a colour. Answered from the bitmaps once the index is built, and with a
+     * count query before that. The bitmaps trail committed writes by the time it takes to apply them.
+     *
+     * @param colourId Colour ID.
+     * @return Number of products with the colour.
+     */
+    public long countByColour(long colourId) {
+        return ready ? cardinality(current -> current.byColour, colourId) : productJdbcRepository.countByColour(colourId);
+    }
+
+    /**
+     * Counts the products of a product type, like {@link #countByColour}.
+     *
+     * @param productTypeId Product type ID.
+     * @return Number of products of the type.
+     */
+    public long countByProductType(long productTypeId) {
+        return ready ? cardinality(current -> current.byType, productTypeId) : productJdbcRepository.countByProductType(productTypeId);
+    }
+
+    private long cardinality(Function<Bitmaps, Map<Long, RoaringBitmap>> index, long key) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap bitmap = index.apply(bitmaps).get(key);
+            return bitmap == null ? 0 : bitmap.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        updater.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entity() != CatalogEntity.PRODUCT) {
+            if (event.type() == ChangeType.DELETED) {
+                updater.execute(event.isWide() ? this::rebuild : () -> dropFacetValues(event.entity(), event.ids()));
+            }
+            return;
+        }
+        if (event.isWide()) {
+            updater.execute(this::rebuild);
+        } else if (event.type() == ChangeType.DELETED) {
+            updater.execute(() -> replace(event.ids(), new Bitmaps()));
+        } else {
+            updater.execute(() -> refresh(event.ids()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+    }
+
+    /**
+     * Rebuilds every bitmap from the database and swaps the new set in.
+     */
+    void rebuild() {
+        try {
+            long started = System.nanoTime();
+            Bitmaps fresh = new Bitmaps();
+            productJdbcRepository.forEachFacetRow(null, fresh::add);
+            fresh.optimize();
+
+            lock.writeLock().lock();
+            try {
+                bitmaps = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            ready = true;
+            logger.info("Product facet index built with {} products in {} ms.",
+                    fresh.all.getLongCardinality(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Failed to build the product facet index: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-reads the given products and replaces their bits.
+     */
+    void refresh(List<Long> productIds) {
+        try {
+            Bitmaps current = new Bitmaps();
+            productJdbcRepository.forEachFacetRow(productIds, current::add);
+            replace(productIds, current);
+        } catch (RuntimeException e) {
+            logger.error("Failed to refresh {} products in the facet index, rebuilding: {}", productIds.size(), e.getMessage());
+            rebuild();
+        }
+    }
+
+    private void replace(List<Long> productIds, Bitmaps current) {
+        RoaringBitmap stale = new RoaringBitmap();
+        productIds.forEach(id -> stale.add(Math.toIntExact(id)));
+
+        lock.writeLock().lock();
+        try {
+            bitmaps.all.andNot(stale);
+            bitmaps.byType.values().forEach(bitmap -> bitmap.andNot(stale));
+            bitmaps.byColour.values().forEach(bitmap -> bitmap.andNot(stale));
+            bitmaps.all.or(current.all);
+            current.byType.forEach((id, bitmap) -> bitmaps.byType.computeIfAbsent(id, key -> new RoaringBitmap()).or(bitmap));
+            current.byColour.forEach((id, bitmap) -> bitmaps.byColour.computeIfAbsent(id, key -> new RoaringBitmap()).or(bitmap));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void dropFacetValues(CatalogEntity entity, List<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, RoaringBitmap> index = entity == CatalogEntity.COLOUR ? bitmaps.byColour : bitmaps.byType;
+            ids.forEach(index::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static RoaringBitmap combine(Map<Long, RoaringBitmap> index, Collection<Long> keys, boolean intersect) {
+        RoaringBitmap result = null;
+        for (Long key : keys) {
+            RoaringBitmap bitmap = index.getOrDefault(key, new RoaringBitmap());
+            if (result == null) {
+                result = bitmap.clone();
+            } else if (intersect) {
+                result.and(bitmap);
+            } else {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, Long> counts(Map<Long, RoaringBitmap> index, RoaringBitmap base) {
+        Map<Long, Long> counts = new TreeMap<>();
+        index.forEach((key, bitmap) -> counts.put(key, (long) RoaringBitmap.andCardinality(base, bitmap)));
+        return counts;
+    }
+
+    /**
+     * One complete set of bitmaps. Product IDs are stored as 32-bit values.
+     */
+    private static final class Bitmaps {
+        private final RoaringBitmap all = new RoaringBitmap();
+        private final Map<Long, RoaringBitmap> byType = new HashMap<>();
+        private final Map<Long, RoaringBitmap> byColour = new HashMap<>();
+
+        void add(long productId, Long productTypeId, Long colourId) {
+            int id = Math.toIntExact(productId);
+            all.add(id);
+            if (productTypeId != null) {
+                byType.computeIfAbsent(productTypeId, key -> new RoaringBitmap()).add(id);
+            }
+            if (colourId != null) {
+                byColour.computeIfAbsent(colourId, key -> new RoaringBitmap()).add(id);
+            }
+        }
+
+        void optimize() {
+            all.runOptimize();
+            byType.values().forEach(RoaringBitmap::runOptimize);
+            byColour.values().forEach(RoaringBitmap::runOptimize);
+        }
+    }
+}
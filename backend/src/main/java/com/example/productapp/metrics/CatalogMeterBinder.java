@@ -0,0 +1,49 @@
+package com.example.productapp.metrics;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.config.ConnectionPoolBackpressureInterceptor;
+import com.example.productapp.index.ProductFacetIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the application's own in-memory state as meters: reference data cache hits and misses,
+ * facet index readiness and, when backpressure is on, the free request slots.
+ */
+@Component
+public class CatalogMeterBinder implements MeterBinder {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final ProductFacetIndex productFacetIndex;
+    private final ObjectProvider<ConnectionPoolBackpressureInterceptor> backpressureInterceptor;
+
+    public CatalogMeterBinder(ReferenceDataCache referenceDataCache, ProductFacetIndex productFacetIndex,
+                              ObjectProvider<ConnectionPoolBackpressureInterceptor> backpressureInterceptor) {
+        this.referenceDataCache = referenceDataCache;
+        this.productFacetIndex = productFacetIndex;
+        this.backpressureInterceptor = backpressureInterceptor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("catalog.reference.cache.requests", referenceDataCache, cache -> cache.getStats().getHits())
+                .description("Reference data lookups served from memory")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("catalog.reference.cache.requests", referenceDataCache, cache -> cache.getStats().getMisses())
+                .description("Reference data lookups that loaded from the database")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("catalog.facet.index.ready", productFacetIndex, index -> index.isReady() ? 1 : 0)
+                .description("1 once the product facet index has been built")
+                .register(registry);
+        backpressureInterceptor.ifAvailable(interceptor ->
+                Gauge.builder("catalog.backpressure.available.slots", interceptor, ConnectionPoolBackpressureInterceptor::availablePermits)
+                        .description("API requests that could start without waiting")
+                        .register(registry));
+    }
+}
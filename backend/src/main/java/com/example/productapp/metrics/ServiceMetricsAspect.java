@@ -0,0 +1,58 @@
+package com.example.productapp.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public service method and counts the ones that fail.
+ * <p>
+ * Meters are tagged with the service class and method, so a slow or failing call can be traced to e.g.
+ * {@code ProductService.updateProduct}. The aspect runs outside the transaction advice, so the timings
+ * include the commit. Repository calls are timed by Spring Boot itself as {@code spring.data.repository.invocations}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    static final String TIMER_NAME = "catalog.service.invocations";
+    static final String ERROR_COUNTER_NAME = "catalog.service.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.example.productapp.service..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            Counter.builder(ERROR_COUNTER_NAME)
+                    .description("Service method calls that threw an exception")
+                    .tags("service", service, "method", method, "exception", exception)
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Duration of service method calls")
+                    .tags("service", service, "method", method, "exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
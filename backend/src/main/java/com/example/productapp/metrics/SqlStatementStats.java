@@ -0,0 +1,98 @@
+package com.example.productapp.metrics;
+
+import com.example.productapp.dto.SqlStatementStatsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Execution time totals per SQL statement shape. A shape is the statement text with literals replaced by
+ * {@code ?} and IN lists and multi-row VALUES collapsed, so calls that differ only in their arguments or
+ * batch size are counted together.
+ * <p>
+ * The number of shapes is bounded; once full, new shapes are counted under {@value #OTHER_SHAPE}.
+ */
+@Component
+public class SqlStatementStats {
+
+    static final String OTHER_SHAPE = "(other statements)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.$])");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("\\(\\?\\)(?:\\s*,\\s*\\(\\?\\))+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final int maxShapes;
+
+    public SqlStatementStats(@Value("${app.sql.max-shapes:1000}") int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Records one execution of a statement.
+     *
+     * @param sql           Statement text as sent to the driver.
+     * @param elapsedMillis Execution time.
+     */
+    public void record(String sql, long elapsedMillis) {
+        String shape = shapeOf(sql);
+        Shape stats = shapes.get(shape);
+        if (stats == null) {
+            stats = shapes.size() < maxShapes
+                    ? shapes.computeIfAbsent(shape, key -> new Shape())
+                    : shapes.computeIfAbsent(OTHER_SHAPE, key -> new Shape());
+        }
+        stats.executions.increment();
+        stats.totalMillis.add(elapsedMillis);
+        stats.maxMillis.accumulate(elapsedMillis);
+    }
+
+    /**
+     * @param limit Maximum number of shapes to return.
+     * @return The statement shapes with the longest single execution, slowest first.
+     */
+    public List<SqlStatementStatsDTO> getSlowest(int limit) {
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .sorted(Comparator.comparingLong(SqlStatementStatsDTO::getMaxMillis)
+                        .thenComparingLong(SqlStatementStatsDTO::getTotalMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Forgets every recorded statement.
+     */
+    public void reset() {
+        shapes.clear();
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return REPEATED_TUPLES.matcher(shape).replaceAll("(?)");
+    }
+
+    private static final class Shape {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Long::max, 0);
+
+        SqlStatementStatsDTO toDTO(String sql) {
+            long count = executions.sum();
+            long total = totalMillis.sum();
+            return new SqlStatementStatsDTO(sql, count, total, count == 0 ? 0 : (double) total / count, maxMillis.get());
+        }
+    }
+}
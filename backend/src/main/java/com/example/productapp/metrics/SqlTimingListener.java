@@ -0,0 +1,56 @@
+package com.example.productapp.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement, whether issued by Hibernate or by JdbcTemplate, and records it in
+ * {@link SqlStatementStats}. Statements at or above the slow threshold are logged as warnings; a random
+ * sample of the others is logged at INFO. The "sql" logger is routed to an async appender, so logging
+ * never blocks the calling thread.
+ */
+@Component
+public class SqlTimingListener implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger("sql");
+
+    private final SqlStatementStats sqlStatementStats;
+    private final long slowThresholdMillis;
+    private final double sampleRate;
+
+    public SqlTimingListener(SqlStatementStats sqlStatementStats,
+                             @Value("${app.sql.slow-threshold:200ms}") Duration slowThreshold,
+                             @Value("${app.sql.sample-rate:0.0}") double sampleRate) {
+        this.sqlStatementStats = sqlStatementStats;
+        this.slowThresholdMillis = slowThreshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        long elapsed = execInfo.getElapsedTime();
+        sqlStatementStats.record(sql, elapsed);
+
+        if (elapsed >= slowThresholdMillis) {
+            logger.warn("Slow statement ({} ms, batch size {}, success {}): {}",
+                    elapsed, execInfo.getBatchSize(), execInfo.isSuccess(), sql);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("Sampled statement ({} ms, batch size {}): {}", elapsed, execInfo.getBatchSize(), sql);
+        }
+    }
+}
@@ -5,8 +5,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.List;
+import java.util.Set;
 
 /**
  * Entity representing a Product.
@@ -17,6 +19,12 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 public class Product {
+
+    /**
+     * Second-level cache role of {@link #colours}, for evicting entries after writes that bypass Hibernate.
+     */
+    public static final String COLOURS_CACHE_ROLE = Product.class.getName() + ".colours";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,5 +40,7 @@ public class Product {
             joinColumns = @JoinColumn(name = "product_id"),
             inverseJoinColumns = @JoinColumn(name = "colour_id")
     )
-    private List<Colour> colours;
+    @OrderBy
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-colours")
+    private Set<Colour> colours;
 }
@@ -0,0 +1,51 @@
+package com.example.productapp.model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Fields of the product listing that a client can ask for with {@code fields=}.
+ * The ID is always returned.
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    PRODUCT_TYPE("productType"),
+    COLOURS("colours");
+
+    private final String parameterName;
+
+    ProductField(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * Parses a comma-separated field list such as {@code "id,name"}. Names are case-insensitive.
+     *
+     * @param fields Field names.
+     * @return The requested fields, always including the ID.
+     * @throws IllegalArgumentException If a name is not a product field.
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(fromParameterName(trimmed));
+        }
+        return parsed;
+    }
+
+    private static ProductField fromParameterName(String name) {
+        for (ProductField field : values()) {
+            if (field.parameterName.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown product field: " + name
+                + ". Valid fields are id, name, productType and colours.");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.productapp.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Default publisher for local runs: appends each message as a JSON line to a file, which consumers can tail.
+ * The file is forced to disk before the batch counts as delivered.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.publisher", havingValue = "file", matchIfMissing = true)
+public class FileOutboxPublisher implements OutboxPublisher {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxPublisher(@Value("${app.outbox.file:${java.io.tmpdir}/catalog-outbox.ndjson}") Path file,
+                               ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : messages) {
+            lines.append(objectMapper.writeValueAsString(message)).append('\n');
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
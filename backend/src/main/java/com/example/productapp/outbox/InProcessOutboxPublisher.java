@@ -0,0 +1,27 @@
+package com.example.productapp.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes each message as a Spring application event, for consumers running in the same JVM.
+ * Listeners run on the relay thread, and an exception from one leaves the batch in the outbox to be retried.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.publisher", havingValue = "in-process")
+public class InProcessOutboxPublisher implements OutboxPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public InProcessOutboxPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
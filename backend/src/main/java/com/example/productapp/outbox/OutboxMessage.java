@@ -0,0 +1,19 @@
+package com.example.productapp.outbox;
+
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A catalog change event read back from the outbox table.
+ *
+ * @param id        Outbox row ID; increases in write order, and consumers can use it to drop redeliveries.
+ * @param entity    Kind of rows that changed.
+ * @param type      What happened to them.
+ * @param ids       IDs of the changed rows, or null when any row of the entity may have changed.
+ * @param createdAt When the change was written.
+ */
+public record OutboxMessage(long id, CatalogEntity entity, ChangeType type, List<Long> ids, Instant createdAt) {
+}
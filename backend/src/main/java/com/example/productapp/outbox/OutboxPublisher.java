@@ -0,0 +1,21 @@
+package com.example.productapp.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers outbox messages to downstream consumers. Implementations plug in as a Spring bean, with
+ * {@code app.outbox.publisher} set to anything other than {@code file} to switch the default off.
+ * <p>
+ * Delivery is at least once: a batch is removed from the outbox only after {@link #publish} returns,
+ * so a failure or crash in between delivers the batch again.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Delivers a batch, oldest message first.
+     *
+     * @param messages Messages to deliver.
+     * @throws Exception If the batch was not delivered; it is retried on the next poll.
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
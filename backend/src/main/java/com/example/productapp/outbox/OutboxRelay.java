@@ -0,0 +1,127 @@
+package com.example.productapp.outbox;
+
+import com.example.productapp.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the outbox to the {@link OutboxPublisher} in batches on a background thread.
+ * <p>
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, published, and deleted in one transaction,
+ * so several application instances can relay side by side without delivering the same batch at once.
+ * A batch whose publish fails stays in the outbox and is retried on the next poll. A full batch is followed
+ * by the next one straight away; otherwise the relay sleeps for the poll interval.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Counter published;
+    private final Counter failures;
+    private final Timer batchTimer;
+    private volatile long lagMillis;
+    private final ScheduledExecutorService relay = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxPublisher outboxPublisher,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:500}") int batchSize,
+                       @Value("${app.outbox.poll-interval:1s}") Duration pollInterval) {
+        this.outboxRepository = outboxRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.published = Counter.builder("catalog.outbox.published")
+                .description("Outbox messages delivered to the publisher")
+                .register(meterRegistry);
+        this.failures = Counter.builder("catalog.outbox.publish.failures")
+                .description("Outbox batches that failed and will be retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("catalog.outbox.batch")
+                .description("Time to lock, publish and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("catalog.outbox.lag", this, relay -> relay.lagMillis / 1000.0)
+                .description("Age in seconds of the oldest message in the last batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        relay.execute(this::poll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        relay.shutdownNow();
+    }
+
+    private void poll() {
+        int relayed = 0;
+        try {
+            relayed = relayBatch();
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("Outbox relay failed; retrying in {}", pollInterval, e);
+        }
+        if (!relay.isShutdown()) {
+            relay.schedule(this::poll, relayed == batchSize ? 0 : pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes and removes one batch.
+     *
+     * @return Number of messages relayed.
+     */
+    int relayBatch() {
+        Integer relayed = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxRepository.lockOldest(batchSize);
+            if (batch.isEmpty()) {
+                lagMillis = 0;
+                return 0;
+            }
+            lagMillis = Duration.between(batch.get(0).createdAt(), Instant.now()).toMillis();
+            try {
+                outboxPublisher.publish(batch);
+            } catch (Exception e) {
+                throw new IllegalStateException("Publishing " + batch.size() + " outbox messages failed", e);
+            }
+            outboxRepository.delete(batch.stream().map(OutboxMessage::id).toList());
+            return batch.size();
+        }));
+        int count = relayed == null ? 0 : relayed;
+        published.increment(count);
+        return count;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.productapp.outbox;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.repository.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes every catalog change event into the outbox inside the transaction that publishes it, so the event
+ * is stored if and only if the change is. The write is one small insert on the connection the transaction
+ * already holds; delivery happens later on the relay's thread.
+ * <p>
+ * An event published outside a transaction is rejected rather than written on its own, since its changes
+ * may already be committed without it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxWriter.class);
+
+    private final OutboxRepository outboxRepository;
+
+    public OutboxWriter(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            logger.error("Outbox write failed: {} {} event published outside a transaction.", event.entity(), event.type());
+            throw new IllegalStateException("Catalog change events must be published inside the transaction that makes the change.");
+        }
+        outboxRepository.insert(event.entity(), event.type(), event.ids());
+    }
+}
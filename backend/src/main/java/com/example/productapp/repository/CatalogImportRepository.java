@@ -0,0 +1,129 @@
+package com.example.productapp.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Loads imported catalog rows through PostgreSQL COPY into a staging table and merges them
+ * into the product tables with set-based statements. Must be used inside a transaction, since
+ * the staging table is dropped on commit.
+ */
+@Repository
+public class CatalogImportRepository {
+
+    private static final String STAGING_TABLE = "product_import_staging";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogImportRepository(DataSource dataSource, JdbcTemplate jdbcTemplate) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the transaction-scoped staging table. Product IDs are drawn from the product ID sequence
+     * as rows are copied in, so the merge can link colours without a second pass.
+     */
+    public void createStagingTable() {
+        jdbcTemplate.execute("CREATE TEMP TABLE " + STAGING_TABLE + " ("
+                + "product_id BIGINT NOT NULL DEFAULT nextval(pg_get_serial_sequence('product', 'id')), "
+                + "line_no BIGINT NOT NULL, "
+                + "name TEXT NOT NULL, "
+                + "product_type_id BIGINT NOT NULL, "
+                + "colour_ids BIGINT[] NOT NULL"
+                + ") ON COMMIT DROP");
+    }
+
+    /**
+     * Opens a COPY stream into the staging table on the current transaction's connection.
+     *
+     * @return Writer that buffers rows and sends them to the server in large chunks.
+     * @throws SQLException If the COPY cannot be started.
+     */
+    public StagingWriter openStagingWriter() throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + STAGING_TABLE + " (line_no, name, product_type_id, colour_ids) FROM STDIN WITH (FORMAT csv)");
+        return new StagingWriter(copyIn);
+    }
+
+    /**
+     * Moves the staged rows into product and product_colour.
+     *
+     * @return Number of products inserted.
+     */
+    public int mergeStagedProducts() {
+        int inserted = jdbcTemplate.update("INSERT INTO product (id, name, product_type_id) "
+                + "SELECT product_id, name, product_type_id FROM " + STAGING_TABLE);
+        jdbcTemplate.update("INSERT INTO product_colour (product_id, colour_id) "
+                + "SELECT DISTINCT s.product_id, c.colour_id FROM " + STAGING_TABLE + " s "
+                + "CROSS JOIN LATERAL unnest(s.colour_ids) AS c(colour_id)");
+        return inserted;
+    }
+
+    /**
+     * Buffered writer of CSV rows into an open COPY stream.
+     */
+    public static final class StagingWriter implements AutoCloseable {
+
+        private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+        private boolean finished;
+
+        private StagingWriter(CopyIn copyIn) {
+            this.copyIn = copyIn;
+        }
+
+        public void write(long lineNo, String name, long productTypeId, Collection<Long> colourIds) throws SQLException {
+            buffer.append(lineNo).append(',')
+                    .append('"').append(name.replace("\"", "\"\"")).append('"').append(',')
+                    .append(productTypeId).append(',')
+                    .append('"').append(colourIds.stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}"))).append('"')
+                    .append('\n');
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+        }
+
+        /**
+         * Sends the remaining rows and completes the COPY.
+         *
+         * @return Number of rows copied.
+         * @throws SQLException If the server rejects the data.
+         */
+        public long finish() throws SQLException {
+            flush();
+            finished = true;
+            return copyIn.endCopy();
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!finished && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
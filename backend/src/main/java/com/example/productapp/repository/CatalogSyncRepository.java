@@ -0,0 +1,111 @@
+package com.example.productapp.repository;
+
+import com.example.productapp.dto.SyncProductDTO;
+import com.example.productapp.dto.TombstoneDTO;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads catalog rows by the row_version change stamps maintained by database triggers.
+ * Versions are PostgreSQL transaction IDs; every query here is answered from a row_version index.
+ */
+@Repository
+public class CatalogSyncRepository {
+
+    private static final String SINCE = "row_version >= (?::text)::xid8";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogSyncRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return Oldest transaction ID that may still be running. Every transaction below it has finished,
+     * so its rows are visible to statements run after this one.
+     */
+    public long findStableVersion() {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * @return Products last written at or after the version, with their colour IDs, in ID order.
+     */
+    public List<SyncProductDTO> findProductsSince(long version) {
+        List<SyncProductDTO> products = new ArrayList<>();
+        jdbcTemplate.query("SELECT p.id, p.name, p.product_type_id, pc.colour_id "
+                + "FROM (SELECT id, name, product_type_id FROM product WHERE " + SINCE + ") p "
+                + "LEFT JOIN product_colour pc ON pc.product_id = p.id "
+                + "ORDER BY p.id, pc.colour_id", (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            SyncProductDTO current = products.isEmpty() ? null : products.get(products.size() - 1);
+            if (current == null || current.getId() != id) {
+                current = new SyncProductDTO(id, rs.getString(2), rs.getObject(3, Long.class), new ArrayList<>());
+                products.add(current);
+            }
+            Long colourId = rs.getObject(4, Long.class);
+            if (colourId != null) {
+                current.getColourIds().add(colourId);
+            }
+        }, version);
+        return products;
+    }
+
+    /**
+     * @return Colours last written at or after the version, in ID order.
+     */
+    public List<Colour> findColoursSince(long version) {
+        return jdbcTemplate.query("SELECT id, name FROM colour WHERE " + SINCE + " ORDER BY id",
+                (rs, rowNum) -> new Colour(rs.getLong(1), rs.getString(2)), version);
+    }
+
+    /**
+     * @return Product types last written at or after the version, in ID order.
+     */
+    public List<ProductType> findProductTypesSince(long version) {
+        return jdbcTemplate.query("SELECT id, name FROM product_type WHERE " + SINCE + " ORDER BY id",
+                (rs, rowNum) -> new ProductType(rs.getLong(1), rs.getString(2)), version);
+    }
+
+    /**
+     * @return Rows deleted at or after the version.
+     */
+    public List<TombstoneDTO> findDeletedSince(long version) {
+        return jdbcTemplate.query("SELECT entity, entity_id FROM catalog_tombstone WHERE " + SINCE,
+                (rs, rowNum) -> new TombstoneDTO(CatalogEntity.valueOf(rs.getString(1)), rs.getLong(2)), version);
+    }
+
+    /**
+     * @return Highest version among the pruned tombstones, or 0 if none were pruned yet.
+     */
+    public long findPrunedVersion() {
+        Long version = jdbcTemplate.queryForObject("SELECT version FROM catalog_sync_horizon WHERE id = 1", Long.class);
+        return version == null ? 0 : version;
+    }
+
+    /**
+     * Deletes the tombstones recorded before a cutoff and raises the pruned version to the highest of them,
+     * in one statement.
+     *
+     * @return Number of tombstones deleted.
+     */
+    public int pruneTombstones(Instant cutoff) {
+        Integer pruned = jdbcTemplate.queryForObject("WITH pruned AS ("
+                + "DELETE FROM catalog_tombstone WHERE deleted_at < ? RETURNING row_version::text::bigint AS version), "
+                + "horizon AS (UPDATE catalog_sync_horizon SET version = GREATEST(version, (SELECT max(version) FROM pruned)) "
+                + "WHERE id = 1 AND EXISTS (SELECT 1 FROM pruned)) "
+                + "SELECT count(*) FROM pruned", Integer.class, Timestamp.from(cutoff));
+        return pruned == null ? 0 : pruned;
+    }
+}
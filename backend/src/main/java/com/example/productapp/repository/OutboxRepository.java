@@ -0,0 +1,73 @@
+package com.example.productapp.repository;
+
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.outbox.OutboxMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the catalog_outbox table.
+ */
+@Repository
+public class OutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends a message in the current transaction.
+     *
+     * @param ids Changed row IDs, or null when any row may have changed.
+     */
+    public void insert(CatalogEntity entity, ChangeType type, List<Long> ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("INSERT INTO catalog_outbox (entity, change_type, entity_ids) VALUES (?, ?, ?)");
+            ps.setString(1, entity.name());
+            ps.setString(2, type.name());
+            ps.setArray(3, ids == null ? null : connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Locks the oldest messages that no other relay has locked. Must run inside a transaction;
+     * the locks are held until it ends.
+     *
+     * @param limit Maximum number of messages.
+     * @return Messages in write order.
+     */
+    public List<OutboxMessage> lockOldest(int limit) {
+        return jdbcTemplate.query("SELECT id, entity, change_type, entity_ids, created_at FROM catalog_outbox "
+                + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED", (rs, rowNum) -> {
+            Array ids = rs.getArray(4);
+            return new OutboxMessage(rs.getLong(1),
+                    CatalogEntity.valueOf(rs.getString(2)),
+                    ChangeType.valueOf(rs.getString(3)),
+                    ids == null ? null : Arrays.asList((Long[]) ids.getArray()),
+                    rs.getTimestamp(5).toInstant());
+        }, limit);
+    }
+
+    /**
+     * Removes delivered messages.
+     *
+     * @return Number of rows deleted.
+     */
+    public int delete(Collection<Long> ids) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("DELETE FROM catalog_outbox WHERE id = ANY (?)");
+            ps.setArray(1, connection.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+    }
+}
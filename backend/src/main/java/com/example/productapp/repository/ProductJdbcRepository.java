@@ -0,0 +1,352 @@
+package com.example.productapp.repository;
+
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the product tables for set-based and batched operations that would be
+ * too slow through the entity manager.
+ */
+@Repository
+public class ProductJdbcRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductJdbcRepository.class);
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductJdbcRepository(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.products.bulk.chunk-size:500}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Receives one (product, product type, colour) row of {@link #forEachFacetRow}.
+     */
+    @FunctionalInterface
+    public interface FacetRowHandler {
+        /**
+         * @param productId     Product ID.
+         * @param productTypeId Product type ID, or null if the product has none.
+         * @param colourId      One colour ID of the product, or null if it has no colours.
+         */
+        void accept(long productId, Long productTypeId, Long colourId);
+    }
+
+    /**
+     * Receives a chunk of {@link #insertAll} whose transaction was rolled back.
+     */
+    @FunctionalInterface
+    public interface ChunkFailureHandler {
+        /**
+         * @param from  Index of the chunk's first product in the inserted list.
+         * @param to    Index after the chunk's last product.
+         * @param cause Why the chunk failed.
+         */
+        void accept(int from, int to, RuntimeException cause);
+    }
+
+    /**
+     * Reads the type and colour IDs of products, one row per product colour, through a cursor.
+     *
+     * @param productIds Products to read, or null for the whole table.
+     * @param handler    Receives each row.
+     */
+    public void forEachFacetRow(Collection<Long> productIds, FacetRowHandler handler) {
+        String sql = "SELECT p.id, p.product_type_id, pc.colour_id FROM product p "
+                + "LEFT JOIN product_colour pc ON pc.product_id = p.id"
+                + (productIds == null ? "" : " WHERE p.id = ANY (?)");
+        // The index keeps what it reads until the next change event, so it always reads the primary, never a replica
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setFetchSize(SCAN_FETCH_SIZE);
+            if (productIds != null) {
+                ps.setArray(1, connection.createArrayOf("bigint", productIds.toArray()));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs ->
+                handler.accept(rs.getLong(1), rs.getObject(2, Long.class), rs.getObject(3, Long.class))));
+    }
+
+    /**
+     * Flat listing rows (id, name, product type name, colour name) restricted to the requested fields.
+     * Columns that were not requested are null, and their joins are left out of the statement:
+     * without the product type there is no product_type join, without colours no product_colour lookup.
+     *
+     * @param fields  Fields to read.
+     * @param afterId Keyset cursor: only products with a lower ID are read.
+     * @param limit   Maximum number of products, or null for all of them.
+     * @return Rows newest first, grouped by product.
+     */
+    public List<Object[]> findListRows(Set<ProductField> fields, long afterId, Integer limit) {
+        String products = limit == null
+                ? "(SELECT id, name, product_type_id FROM product WHERE id < ?) p"
+                : "(SELECT id, name, product_type_id FROM product WHERE id < ? ORDER BY id DESC LIMIT ?) p";
+        Object[] args = limit == null ? new Object[]{afterId} : new Object[]{afterId, limit};
+        return queryListRows(fields, products, args);
+    }
+
+    /**
+     * Listing rows of one product, restricted to the requested fields as in {@link #findListRows}.
+     *
+     * @return The product's rows, or an empty list if it does not exist.
+     */
+    public List<Object[]> findListRowsById(Set<ProductField> fields, long productId) {
+        return queryListRows(fields, "(SELECT id, name, product_type_id FROM product WHERE id = ?) p", productId);
+    }
+
+    private List<Object[]> queryListRows(Set<ProductField> fields, String products, Object... args) {
+        boolean withName = fields.contains(ProductField.NAME);
+        boolean withType = fields.contains(ProductField.PRODUCT_TYPE);
+        boolean withColours = fields.contains(ProductField.COLOURS);
+
+        StringBuilder sql = new StringBuilder("SELECT p.id");
+        sql.append(withName ? ", p.name" : "");
+        sql.append(withType ? ", pt.name" : "");
+        sql.append(withColours ? ", c.name" : "");
+        sql.append(" FROM ").append(products);
+        if (withType) {
+            sql.append(" LEFT JOIN product_type pt ON pt.id = p.product_type_id");
+        }
+        if (withColours) {
+            sql.append(" LEFT JOIN product_colour pc ON pc.product_id = p.id LEFT JOIN colour c ON c.id = pc.colour_id");
+        }
+        sql.append(withColours ? " ORDER BY p.id DESC, c.id" : " ORDER BY p.id DESC");
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            int column = 1;
+            Object[] row = new Object[4];
+            row[0] = rs.getLong(column++);
+            row[1] = withName ? rs.getString(column++) : null;
+            row[2] = withType ? rs.getString(column++) : null;
+            row[3] = withColours ? rs.getString(column) : null;
+            return row;
+        }, args);
+    }
+
+    /**
+     * @return Number of products with the colour.
+     */
+    public long countByColour(long colourId) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM product_colour WHERE colour_id = ?", Long.class, colourId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * @return Number of products of the product type.
+     */
+    public long countByProductType(long productTypeId) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM product WHERE product_type_id = ?", Long.class, productTypeId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Links a colour to a product unless it is already linked, without loading either entity.
+     *
+     * @return 1 if a link was added, 0 if the product does not exist or already has the colour.
+     */
+    public int attachColour(long productId, long colourId) {
+        return jdbcTemplate.update("""
+                INSERT INTO product_colour (product_id, colour_id)
+                SELECT p.id, ? FROM product p
+                WHERE p.id = ?
+                  AND NOT EXISTS (SELECT 1 FROM product_colour pc WHERE pc.product_id = p.id AND pc.colour_id = ?)
+                """, colourId, productId, colourId);
+    }
+
+    /**
+     * Links a colour to every given product that exists and does not have it yet, in one statement.
+     *
+     * @return Number of links added.
+     */
+    public int attachColour(Collection<Long> productIds, long colourId) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement("""
+                    INSERT INTO product_colour (product_id, colour_id)
+                    SELECT p.id, ? FROM product p
+                    WHERE p.id = ANY (?)
+                      AND NOT EXISTS (SELECT 1 FROM product_colour pc WHERE pc.product_id = p.id AND pc.colour_id = ?)
+                    """);
+            ps.setLong(1, colourId);
+            ps.setArray(2, connection.createArrayOf("bigint", productIds.toArray()));
+            ps.setLong(3, colourId);
+            return ps;
+        });
+    }
+
+    /**
+     * Unlinks a colour from a product without loading either entity.
+     *
+     * @return 1 if a link was removed, 0 if there was none.
+     */
+    public int detachColour(long productId, long colourId) {
+        return jdbcTemplate.update("DELETE FROM product_colour WHERE product_id = ? AND colour_id = ?", productId, colourId);
+    }
+
+    /**
+     * Unlinks a colour from every given product, in one statement.
+     *
+     * @return Number of links removed.
+     */
+    public int detachColour(Collection<Long> productIds, long colourId) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "DELETE FROM product_colour WHERE colour_id = ? AND product_id = ANY (?)");
+            ps.setLong(1, colourId);
+            ps.setArray(2, connection.createArrayOf("bigint", productIds.toArray()));
+            return ps;
+        });
+    }
+
+    /**
+     * Moves every product from one colour to another in a single statement. Products that already have
+     * the target colour just lose the source colour; no product ends up with the target twice.
+     *
+     * @return Number of products that had the source colour.
+     */
+    public int reassignColour(long sourceColourId, long targetColourId) {
+        Integer moved = jdbcTemplate.queryForObject("""
+                WITH added AS (
+                    INSERT INTO product_colour (product_id, colour_id)
+                    SELECT pc.product_id, ? FROM product_colour pc
+                    WHERE pc.colour_id = ?
+                      AND NOT EXISTS (SELECT 1 FROM product_colour t WHERE t.product_id = pc.product_id AND t.colour_id = ?)
+                ), removed AS (
+                    DELETE FROM product_colour WHERE colour_id = ? RETURNING product_id
+                )
+                SELECT count(*) FROM removed
+                """, Integer.class, targetColourId, sourceColourId, targetColourId, sourceColourId);
+        return moved == null ? 0 : moved;
+    }
+
+    /**
+     * Sets the product type of every product matching all given criteria in a single statement.
+     * Products that already have the target type are not touched. Null or empty criteria are ignored.
+     *
+     * @param targetProductTypeId New product type.
+     * @param productTypeIds      Only products currently of one of these types.
+     * @param colourIds           Only products with at least one of these colours.
+     * @param namePattern         Only products whose lower-cased name matches this LIKE pattern (backslash escapes).
+     * @return Number of products changed.
+     */
+    public int retypeProducts(long targetProductTypeId, Collection<Long> productTypeIds,
+                              Collection<Long> colourIds, String namePattern) {
+        StringBuilder sql = new StringBuilder("UPDATE product p SET product_type_id = ? WHERE p.product_type_id IS DISTINCT FROM ?");
+        if (productTypeIds != null && !productTypeIds.isEmpty()) {
+            sql.append(" AND p.product_type_id = ANY (?)");
+        }
+        if (colourIds != null && !colourIds.isEmpty()) {
+            sql.append(" AND EXISTS (SELECT 1 FROM product_colour pc WHERE pc.product_id = p.id AND pc.colour_id = ANY (?))");
+        }
+        if (namePattern != null) {
+            sql.append(" AND lower(p.name) LIKE ? ESCAPE '\\'");
+        }
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString());
+            int index = 1;
+            ps.setLong(index++, targetProductTypeId);
+            ps.setLong(index++, targetProductTypeId);
+            if (productTypeIds != null && !productTypeIds.isEmpty()) {
+                ps.setArray(index++, connection.createArrayOf("bigint", productTypeIds.toArray()));
+            }
+            if (colourIds != null && !colourIds.isEmpty()) {
+                ps.setArray(index++, connection.createArrayOf("bigint", colourIds.toArray()));
+            }
+            if (namePattern != null) {
+                ps.setString(index, namePattern);
+            }
+            return ps;
+        });
+    }
+
+    /**
+     * Inserts products and their colour links as batched statements, committing one transaction per chunk.
+     * IDs are reserved up front from the product ID sequence so that the product_colour rows can be batched
+     * together with the products instead of waiting for generated keys row by row.
+     *
+     * A failing chunk rolls back on its own and is reported to {@code onChunkFailed}; the other chunks are
+     * still inserted, so the IDs of those already committed are never lost.
+     *
+     * @param products        Validated, unsaved products. Their IDs are set as they are inserted,
+     *                        and stay null for the products of a failed chunk.
+     * @param onChunkInserted Called with the IDs of each chunk inside that chunk's transaction,
+     *                        so that anything it writes commits or rolls back with the chunk.
+     * @param onChunkFailed   Called with the positions of each chunk that was rolled back.
+     * @return IDs of the inserted products, in input order.
+     */
+    public List<Long> insertAll(List<Product> products, Consumer<List<Long>> onChunkInserted,
+                                ChunkFailureHandler onChunkFailed) {
+        List<Long> ids = new ArrayList<>(products.size());
+        for (int from = 0; from < products.size(); from += chunkSize) {
+            List<Product> chunk = products.subList(from, Math.min(from + chunkSize, products.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    insertChunk(chunk);
+                    onChunkInserted.accept(chunk.stream().map(Product::getId).toList());
+                });
+            } catch (RuntimeException e) {
+                chunk.forEach(product -> product.setId(null));
+                logger.error("Inserting products {} to {} of {} failed: {}",
+                        from + 1, from + chunk.size(), products.size(), e.getMessage(), e);
+                onChunkFailed.accept(from, from + chunk.size(), e);
+                continue;
+            }
+            chunk.forEach(product -> ids.add(product.getId()));
+            logger.info("Inserted products {} to {} of {}.", from + 1, from + chunk.size(), products.size());
+        }
+        return ids;
+    }
+
+    private void insertChunk(List<Product> chunk) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval(pg_get_serial_sequence('product', 'id')) FROM generate_series(1, ?)",
+                Long.class, chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).setId(ids.get(i));
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO product (id, name, product_type_id) VALUES (?, ?, ?)",
+                chunk, chunk.size(), (ps, product) -> {
+                    ps.setLong(1, product.getId());
+                    ps.setString(2, product.getName());
+                    ps.setLong(3, product.getProductType().getId());
+                });
+
+        List<long[]> links = new ArrayList<>();
+        for (Product product : chunk) {
+            for (Colour colour : product.getColours()) {
+                links.add(new long[]{product.getId(), colour.getId()});
+            }
+        }
+        if (links.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product_colour (product_id, colour_id) VALUES (?, ?)",
+                links, links.size(), (ps, link) -> {
+                    ps.setLong(1, link[0]);
+                    ps.setLong(2, link[1]);
+                });
+    }
+}
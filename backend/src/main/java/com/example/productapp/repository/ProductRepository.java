@@ -2,12 +2,127 @@ package com.example.productapp.repository;
 
 import com.example.productapp.model.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for Product entity.
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findAllByOrderByIdDesc();
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    /**
+     * Flat listing rows (id, name, product type name, colour name), newest first, one row per product colour.
+     * Built from a single join so no Product entities or lazy collections are loaded.
+     */
+    @Query(value = """
+            SELECT p.id, p.name, pt.name, c.name
+            FROM product p
+            LEFT JOIN product_type pt ON pt.id = p.product_type_id
+            LEFT JOIN product_colour pc ON pc.product_id = p.id
+            LEFT JOIN colour c ON c.id = pc.colour_id
+            ORDER BY p.id DESC, c.id
+            """, nativeQuery = true)
+    List<Object[]> findListRows();
+
+    /**
+     * One keyset page of flat listing rows: the page of products is picked by seeking past
+     * {@code afterId} on the primary key, then joined to its type and colours in the same statement.
+     */
+    @Query(value = """
+            SELECT p.id, p.name, pt.name, c.name
+            FROM (SELECT id, name, product_type_id
+                  FROM product
+                  WHERE id < :afterId
+                  ORDER BY id DESC
+                  LIMIT :limit) p
+            LEFT JOIN product_type pt ON pt.id = p.product_type_id
+            LEFT JOIN product_colour pc ON pc.product_id = p.id
+            LEFT JOIN colour c ON c.id = pc.colour_id
+            ORDER BY p.id DESC, c.id
+            """, nativeQuery = true)
+    List<Object[]> findListRowsBefore(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Flat listing rows for the given products, newest first.
+     */
+    @Query(value = """
+            SELECT p.id, p.name, pt.name, c.name
+            FROM product p
+            LEFT JOIN product_type pt ON pt.id = p.product_type_id
+            LEFT JOIN product_colour pc ON pc.product_id = p.id
+            LEFT JOIN colour c ON c.id = pc.colour_id
+            WHERE p.id IN (:ids)
+            ORDER BY p.id DESC, c.id
+            """, nativeQuery = true)
+    List<Object[]> findListRowsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Same rows as {@link #findListRows()}, read through a forward-only cursor with a fixed fetch size.
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+            SELECT p.id, p.name, pt.name, c.name
+            FROM product p
+            LEFT JOIN product_type pt ON pt.id = p.product_type_id
+            LEFT JOIN product_colour pc ON pc.product_id = p.id
+            LEFT JOIN colour c ON c.id = pc.colour_id
+            ORDER BY p.id DESC, c.id
+            """, nativeQuery = true)
+    Stream<Object[]> streamListRows();
+
+    /**
+     * Case-insensitive substring search on the product name, returning flat listing rows for the top
+     * {@code limit} matches. Prefix matches rank first, then earlier matches, then shorter names.
+     * {@code pattern} is the escaped needle wrapped in %, {@code prefix} the escaped needle followed by %.
+     * Served by the trigram index on lower(name).
+     */
+    @Query(value = """
+            SELECT p.id, p.name, pt.name, c.name
+            FROM (SELECT id, name, product_type_id,
+                         CASE WHEN lower(name) LIKE :prefix ESCAPE '\\' THEN 0 ELSE 1 END AS prefix_rank,
+                         strpos(lower(name), :needle) AS match_position
+                  FROM product
+                  WHERE lower(name) LIKE :pattern ESCAPE '\\'
+                  ORDER BY prefix_rank, match_position, length(name), id DESC
+                  LIMIT :limit) p
+            LEFT JOIN product_type pt ON pt.id = p.product_type_id
+            LEFT JOIN product_colour pc ON pc.product_id = p.id
+            LEFT JOIN colour c ON c.id = pc.colour_id
+            ORDER BY p.prefix_rank, p.match_position, length(p.name), p.id DESC, c.id
+            """, nativeQuery = true)
+    List<Object[]> searchListRows(@Param("needle") String needle, @Param("pattern") String pattern,
+                                  @Param("prefix") String prefix, @Param("limit") int limit);
+
+    /**
+     * Case-insensitive prefix search on the product name for needles too short for trigram matching,
+     * in code point order of the lower-cased name, newest first on ties. Both the match and the order use the
+     * "C" collation of the idx_product_name_prefix_c index on (lower(name), id DESC), which yields the rows
+     * already sorted so the scan stops at the limit.
+     */
+    @Query(value = """
+            SELECT p.id, p.name, pt.name, c.name
+            FROM (SELECT id, name, product_type_id
+                  FROM product
+                  WHERE lower(name) COLLATE "C" LIKE :prefix ESCAPE '\\'
+                  ORDER BY lower(name) COLLATE "C", id DESC
+                  LIMIT :limit) p
+            LEFT JOIN product_type pt ON pt.id = p.product_type_id
+            LEFT JOIN product_colour pc ON pc.product_id = p.id
+            LEFT JOIN colour c ON c.id = pc.colour_id
+            ORDER BY lower(p.name) COLLATE "C", p.id DESC, c.id
+            """, nativeQuery = true)
+    List<Object[]> searchListRowsByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
 }
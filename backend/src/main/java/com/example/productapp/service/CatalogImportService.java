@@ -0,0 +1,233 @@
+package com.example.productapp.service;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.ImportRejectionDTO;
+import com.example.productapp.dto.ImportStatusDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.CatalogImportRepository;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for importing product catalogs from CSV.
+ * Expects a header row with the columns {@code name}, {@code productType} and {@code colours},
+ * where colours are separated by {@code |}. Type and colour names are matched case-insensitively.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+    private static final List<String> COLUMNS = List.of("name", "productType", "colours");
+    private static final String COLOUR_SEPARATOR = "\\|";
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final int PROGRESS_INTERVAL = 100_000;
+    private static final int MAX_TRACKED_IMPORTS = 20;
+
+    private final CatalogImportRepository catalogImportRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Deque<ImportJob> recentImports = new ConcurrentLinkedDeque<>();
+
+    public CatalogImportService(CatalogImportRepository catalogImportRepository, ReferenceDataCache referenceDataCache,
+                                ApplicationEventPublisher eventPublisher) {
+        this.catalogImportRepository = catalogImportRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Imports products from a CSV stream. Rows are validated and mapped to IDs in memory, copied into
+     * a staging table with COPY as they are read, and merged into the product tables at the end.
+     * Everything runs in one transaction, so either all valid rows are imported or none are.
+     *
+     * @param csv CSV content.
+     * @return Final status of the import, including rejected rows.
+     * @throws IOException If the CSV cannot be read.
+     */
+    @Transactional
+    public ImportStatusDTO importCsv(InputStream csv) throws IOException {
+        ImportJob job = track(new ImportJob());
+        logger.info("Starting catalog import {}...", job.id);
+
+        Map<String, Long> productTypeIds = new HashMap<>();
+        for (ProductType productType : referenceDataCache.getAllProductTypes()) {
+            productTypeIds.put(normalize(productType.getName()), productType.getId());
+        }
+        Map<String, Long> colourIds = new HashMap<>();
+        for (Colour colour : referenceDataCache.getAllColours()) {
+            colourIds.put(normalize(colour.getName()), colour.getId());
+        }
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+             CSVParser parser = CSV_FORMAT.parse(reader)) {
+            for (String column : COLUMNS) {
+                if (parser.getHeaderMap().keySet().stream().noneMatch(column::equalsIgnoreCase)) {
+                    logger.error("Catalog import {} failed: Missing column '{}'.", job.id, column);
+                    throw new IllegalArgumentException("CSV header must contain the columns: " + String.join(", ", COLUMNS));
+                }
+            }
+
+            catalogImportRepository.createStagingTable();
+            try (CatalogImportRepository.StagingWriter writer = catalogImportRepository.openStagingWriter()) {
+                for (CSVRecord record : parser) {
+                    long line = parser.getCurrentLineNumber();
+                    if (job.rowsRead.incrementAndGet() % PROGRESS_INTERVAL == 0) {
+                        logger.info("Import {}: {} rows read, {} rejected.", job.id, job.rowsRead.get(), job.rejected.get());
+                    }
+
+                    String rejection = stage(record, line, productTypeIds, colourIds, writer);
+                    if (rejection != null) {
+                        job.reject(line, rejection);
+                    }
+                }
+                writer.finish();
+            }
+            job.imported.set(catalogImportRepository.mergeStagedProducts());
+            eventPublisher.publishEvent(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+        } catch (SQLException e) {
+            failed(job, e);
+            throw new IllegalStateException("Catalog import failed: " + e.getMessage(), e);
+        } catch (IOException | RuntimeException e) {
+            failed(job, e);
+            throw e;
+        }
+
+        job.finish("COMPLETED");
+        logger.info("Catalog import {} completed: {} rows read, {} imported, {} rejected.",
+                job.id, job.rowsRead.get(), job.imported.get(), job.rejected.get());
+        return job.toDTO();
+    }
+
+    /**
+     * @return Progress of running imports and outcome of recent ones, newest first.
+     */
+    public List<ImportStatusDTO> getRecentImports() {
+        return recentImports.stream().map(ImportJob::toDTO).toList();
+    }
+
+    /**
+     * Validates one record and writes it to the staging table.
+     *
+     * @return The rejection reason, or null if the row was staged.
+     */
+    private String stage(CSVRecord record, long line, Map<String, Long> productTypeIds,
+                         Map<String, Long> colourIds, CatalogImportRepository.StagingWriter writer) throws SQLException {
+        if (!record.isConsistent()) {
+            return "Unexpected number of columns: " + record.size() + ".";
+        }
+
+        String name = record.get("name");
+        if (name.isEmpty()) {
+            return "Product name cannot be empty.";
+        }
+
+        Long productTypeId = productTypeIds.get(normalize(record.get("productType")));
+        if (productTypeId == null) {
+            return "Unknown product type: " + record.get("productType");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>();
+        String colours = record.get("colours");
+        if (!colours.isEmpty()) {
+            for (String colourName : colours.split(COLOUR_SEPARATOR)) {
+                Long colourId = colourIds.get(normalize(colourName));
+                if (colourId == null) {
+                    return "Unknown colour: " + colourName.trim();
+                }
+                ids.add(colourId);
+            }
+        }
+
+        writer.write(line, name, productTypeId, ids);
+        return null;
+    }
+
+    private static void failed(ImportJob job, Exception e) {
+        job.finish("FAILED");
+        logger.error("Catalog import {} failed after {} rows: {}", job.id, job.rowsRead.get(), e.getMessage());
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private ImportJob track(ImportJob job) {
+        recentImports.addFirst(job);
+        while (recentImports.size() > MAX_TRACKED_IMPORTS) {
+            recentImports.pollLast();
+        }
+        return job;
+    }
+
+    /**
+     * Mutable progress of one import, readable from other threads while the import runs.
+     */
+    private static final class ImportJob {
+        private final String id = UUID.randomUUID().toString();
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final List<ImportRejectionDTO> rejections = Collections.synchronizedList(new ArrayList<>());
+        private volatile String status = "RUNNING";
+        private volatile Instant finishedAt;
+
+        void reject(long line, String reason) {
+            if (rejected.incrementAndGet() <= MAX_REPORTED_REJECTIONS) {
+                rejections.add(new ImportRejectionDTO(line, reason));
+            }
+        }
+
+        void finish(String finalStatus) {
+            finishedAt = Instant.now();
+            status = finalStatus;
+        }
+
+        ImportStatusDTO toDTO() {
+            List<ImportRejectionDTO> reported;
+            synchronized (rejections) {
+                reported = List.copyOf(rejections);
+            }
+            return new ImportStatusDTO(id, status, rowsRead.get(), imported.get(), rejected.get(),
+                    reported, startedAt, finishedAt);
+        }
+    }
+}
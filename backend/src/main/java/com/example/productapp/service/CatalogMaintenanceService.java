@@ -0,0 +1,121 @@
+package com.example.productapp.service;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.ColourMergeResultDTO;
+import com.example.productapp.dto.RetypeRequestDTO;
+import com.example.productapp.dto.RetypeResultDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.repository.ProductJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service class for catalog-wide maintenance operations that change many products at once.
+ * Each operation is a set-based statement in one transaction; caches and the facet index are
+ * refreshed through a catalog-wide change event once it commits.
+ */
+@Service
+public class CatalogMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogMaintenanceService.class);
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ColourService colourService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogMaintenanceService(ProductJdbcRepository productJdbcRepository, ReferenceDataCache referenceDataCache,
+                                     ColourService colourService, ApplicationEventPublisher eventPublisher) {
+        this.productJdbcRepository = productJdbcRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.colourService = colourService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Moves every product from the source colour to the target colour, optionally deleting the source colour.
+     *
+     * @param sourceColourId Colour to merge away.
+     * @param targetColourId Colour to keep.
+     * @param deleteSource   True to delete the source colour afterwards.
+     * @return Number of products moved.
+     */
+    @Transactional
+    public ColourMergeResultDTO mergeColours(Long sourceColourId, Long targetColourId, boolean deleteSource) {
+        logger.info("Merging colour {} into colour {}", sourceColourId, targetColourId);
+        if (sourceColourId.equals(targetColourId)) {
+            logger.error("Colour merge failed: Source and target are both {}.", sourceColourId);
+            throw new IllegalArgumentException("A colour cannot be merged into itself.");
+        }
+        requireColour(sourceColourId);
+        requireColour(targetColourId);
+
+        int moved = productJdbcRepository.reassignColour(sourceColourId, targetColourId);
+        if (moved > 0) {
+            eventPublisher.publishEvent(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+        }
+        if (deleteSource) {
+            colourService.removeColour(sourceColourId);
+        }
+
+        logger.info("Merged colour {} into colour {}: {} products updated.", sourceColourId, targetColourId, moved);
+        return new ColourMergeResultDTO(sourceColourId, targetColourId, moved, deleteSource);
+    }
+
+    /**
+     * Changes the product type of every product matching the request's filter.
+     *
+     * @param request Target product type and filter criteria.
+     * @return Number of products changed.
+     */
+    @Transactional
+    public RetypeResultDTO retypeProducts(RetypeRequestDTO request) {
+        logger.info("Retyping products to type {}", request.getTargetProductTypeId());
+        if (request.getTargetProductTypeId() == null) {
+            logger.error("Retype failed: Target product type is required.");
+            throw new IllegalArgumentException("Please provide a target product type.");
+        }
+        boolean hasName = request.getNameContains() != null && !request.getNameContains().isBlank();
+        if (isEmpty(request.getProductTypeIds()) && isEmpty(request.getColourIds()) && !hasName) {
+            logger.error("Retype failed: No filter criteria supplied.");
+            throw new IllegalArgumentException("Please provide at least one of productTypeIds, colourIds or nameContains.");
+        }
+        if (referenceDataCache.findProductType(request.getTargetProductTypeId()).isEmpty()) {
+            logger.error("Retype failed: Product Type not found with ID: {}", request.getTargetProductTypeId());
+            throw new ResourceNotFoundException("Product Type not found with ID: " + request.getTargetProductTypeId());
+        }
+
+        String namePattern = null;
+        if (hasName) {
+            String needle = request.getNameContains().trim().toLowerCase(Locale.ROOT);
+            namePattern = "%" + needle.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        }
+        int updated = productJdbcRepository.retypeProducts(request.getTargetProductTypeId(),
+                request.getProductTypeIds(), request.getColourIds(), namePattern);
+        if (updated > 0) {
+            eventPublisher.publishEvent(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+        }
+
+        logger.info("Retyped {} products to type {}.", updated, request.getTargetProductTypeId());
+        return new RetypeResultDTO(request.getTargetProductTypeId(), updated);
+    }
+
+    private void requireColour(Long colourId) {
+        if (referenceDataCache.findColours(List.of(colourId)).isEmpty()) {
+            logger.error("Colour not found with ID: {}", colourId);
+            throw new ResourceNotFoundException("Colour not found with ID: " + colourId);
+        }
+    }
+
+    private static boolean isEmpty(List<Long> ids) {
+        return ids == null || ids.isEmpty();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.SyncDTO;
+import com.example.productapp.dto.SyncProductDTO;
+import com.example.productapp.dto.TombstoneDTO;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.CatalogSyncRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for incremental catalog sync by clients that keep a local copy.
+ */
+@Service
+public class CatalogSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSyncService.class);
+
+    private final CatalogSyncRepository catalogSyncRepository;
+    private final Duration tombstoneRetention;
+    private final Duration pruneInterval;
+    private final ScheduledExecutorService pruner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "tombstone-pruner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatalogSyncService(CatalogSyncRepository catalogSyncRepository,
+                              @Value("${app.sync.tombstone-retention:30d}") Duration tombstoneRetention,
+                              @Value("${app.sync.tombstone-prune-interval:1h}") Duration pruneInterval) {
+        this.catalogSyncRepository = catalogSyncRepository;
+        this.tombstoneRetention = tombstoneRetention;
+        this.pruneInterval = pruneInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPruning() {
+        pruner.scheduleWithFixedDelay(this::pruneTombstones, 0, pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pruner.shutdownNow();
+    }
+
+    /**
+     * Returns the products, colours and product types created, changed or deleted since a version.
+     * <p>
+     * The returned version is the oldest transaction that was still running when the read started, not the newest
+     * row returned: a transaction that commits later can carry a lower version than rows already seen, and it
+     * must still be returned next time. Rows can therefore be returned again by the next sync; applying them twice
+     * is harmless. All rows are read from one snapshot, so a product never refers to a colour that is not yet synced.
+     * A client whose version is at or below the newest pruned tombstone may have missed deletes; it is sent the
+     * whole catalog, flagged as a reset.
+     *
+     * @param since Version returned by the previous sync, or 0 for the whole catalog.
+     * @return The changed rows and the version for the next sync.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public SyncDTO getChangesSince(long since) {
+        if (since < 0) {
+            logger.error("Invalid sync version requested: {}", since);
+            throw new IllegalArgumentException("Sync version cannot be negative.");
+        }
+
+        logger.info("Fetching catalog changes since version {}", since);
+        // Read first: anything that commits after this point has a version at or above it
+        long next = catalogSyncRepository.findStableVersion();
+        boolean reset = since > 0 && since <= catalogSyncRepository.findPrunedVersion();
+        if (reset) {
+            logger.info("Sync version {} predates the retained tombstones; sending the whole catalog", since);
+            since = 0;
+        }
+        List<SyncProductDTO> products = catalogSyncRepository.findProductsSince(since);
+        List<Colour> colours = catalogSyncRepository.findColoursSince(since);
+        List<ProductType> productTypes = catalogSyncRepository.findProductTypesSince(since);
+        // A client syncing for the first time has nothing to delete
+        List<TombstoneDTO> deleted = since == 0 ? List.of() : catalogSyncRepository.findDeletedSince(since);
+
+        logger.info("Found {} products, {} colours, {} product types and {} deletions since version {}",
+                products.size(), colours.size(), productTypes.size(), deleted.size(), since);
+        return new SyncDTO(Math.max(next, since), products, colours, productTypes, deleted, reset);
+    }
+
+    /**
+     * Deletes tombstones older than the retention period. Clients that have not synced within that period
+     * get a reset on their next sync.
+     */
+    void pruneTombstones() {
+        try {
+            int pruned = catalogSyncRepository.pruneTombstones(Instant.now().minus(tombstoneRetention));
+            if (pruned > 0) {
+                logger.info("Pruned {} tombstones older than {}", pruned, tombstoneRetention);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Tombstone pruning failed; retrying in {}", pruneInterval, e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.ChangeEventDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Pushes committed catalog changes to Server-Sent Events subscribers.
+ * <p>
+ * Every change gets a version, sent as the SSE event ID. The latest changes are kept in a ring buffer,
+ * so a client that reconnects with {@code Last-Event-ID} receives what it missed. A client whose version is
+ * older than the buffer, or from before a restart, gets a {@code reset} event and should reload everything.
+ * <p>
+ * Each subscriber has a bounded queue drained by its own virtual thread, so a slow client never delays
+ * the write that produced the change or the other subscribers. A subscriber whose queue overflows is
+ * disconnected; the browser reconnects and resumes from its last event.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    static final String RESET_EVENT = "reset";
+    private static final Supplier<SseEmitter.SseEventBuilder> HEARTBEAT = () -> SseEmitter.event().comment("heartbeat");
+
+    private final ChangeEventDTO[] buffer;
+    private final int subscriberQueueSize;
+    private final int maxSubscribers;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor sender;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "change-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this: the latest version handed out, and the newest version no longer in the buffer
+    private long version = System.currentTimeMillis();
+    private long floor = version;
+
+    @Autowired
+    public ChangeFeedService(@Value("${app.changes.buffer-size:1000}") int bufferSize,
+                             @Value("${app.changes.subscriber-queue-size:256}") int subscriberQueueSize,
+                             @Value("${app.changes.max-subscribers:500}") int maxSubscribers,
+                             @Value("${app.changes.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this(bufferSize, subscriberQueueSize, maxSubscribers, Executors.newVirtualThreadPerTaskExecutor());
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    ChangeFeedService(int bufferSize, int subscriberQueueSize, int maxSubscribers, Executor sender) {
+        this.buffer = new ChangeEventDTO[bufferSize];
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.maxSubscribers = maxSubscribers;
+        this.sender = sender;
+    }
+
+    /**
+     * Opens a change stream.
+     *
+     * @param lastEventId Version of the last event the client has seen, or null to receive new changes only.
+     * @return Emitter that receives the missed changes, if any, followed by every new change.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            logger.error("Change stream rejected: {} subscribers already connected.", subscribers.size());
+            throw new ServiceUnavailableException("Too many change stream subscribers. Please try again later.");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(), new ArrayBlockingQueue<>(subscriberQueueSize));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> {
+            // The browser reconnects with Last-Event-ID and resumes
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+        });
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            Optional<List<ChangeEventDTO>> missed = lastEventId == null ? Optional.of(List.of()) : eventsAfter(lastEventId);
+            if (missed.isEmpty() || missed.get().size() > subscriberQueueSize) {
+                logger.info("Change stream from version {} cannot be resumed; sending a reset.", lastEventId);
+                long resetVersion = version;
+                subscriber.queue.add(() -> SseEmitter.event().id(Long.toString(resetVersion)).name(RESET_EVENT).data(resetVersion));
+            } else {
+                missed.get().forEach(event -> subscriber.queue.add(() -> toSse(event)));
+            }
+            // Registered while holding the lock, so no change falls between the replay and the live events
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        logger.info("Change stream opened; {} subscribers connected.", subscribers.size());
+        return subscriber.emitter;
+    }
+
+    /**
+     * @return Number of connected subscribers.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        synchronized (this) {
+            version++;
+            ChangeEventDTO change = new ChangeEventDTO(version, event.entity(), event.type(), event.ids());
+            int slot = (int) (version % buffer.length);
+            if (buffer[slot] != null) {
+                floor = buffer[slot].getVersion();
+            }
+            buffer[slot] = change;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(() -> toSse(change));
+            }
+        }
+    }
+
+    /**
+     * @return Version of the latest change.
+     */
+    synchronized long currentVersion() {
+        return version;
+    }
+
+    /**
+     * Changes after a version, oldest first.
+     *
+     * @return The changes, or empty if some of them are no longer buffered or the version was never handed out.
+     */
+    synchronized Optional<List<ChangeEventDTO>> eventsAfter(long lastEventId) {
+        if (lastEventId < floor || lastEventId > version) {
+            return Optional.empty();
+        }
+        List<ChangeEventDTO> events = new ArrayList<>((int) (version - lastEventId));
+        for (long v = lastEventId + 1; v <= version; v++) {
+            events.add(buffer[(int) (v % buffer.length)]);
+        }
+        return Optional.of(events);
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(HEARTBEAT);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(ChangeEventDTO change) {
+        return SseEmitter.event().id(Long.toString(change.getVersion())).data(change);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * One connected client. Events are queued as builders, created per send because an SSE event builder
+     * can only be written once.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean evicted;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Supplier<SseEmitter.SseEventBuilder>> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        /**
+         * Queues an event without blocking. The emitter is only ever written from the drain thread,
+         * because completing it waits for a send in progress.
+         */
+        private void offer(Supplier<SseEmitter.SseEventBuilder> event) {
+            if (!queue.offer(event)) {
+                logger.info("Disconnecting a change stream subscriber that fell {} events behind.", queue.size());
+                subscribers.remove(this);
+                evicted = true;
+                queue.clear();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Supplier<SseEmitter.SseEventBuilder> event;
+                while (!evicted && (event = queue.poll()) != null) {
+                    emitter.send(event.get());
+                }
+                if (evicted) {
+                    emitter.complete();
+                    return;
+                }
+            } catch (IOException | IllegalStateException e) {
+                logger.info("Change stream subscriber went away: {}", e.getMessage());
+                subscribers.remove(this);
+                evicted = true;
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before the flag was cleared still needs sending
+            if (!queue.isEmpty() || evicted) {
+                schedule();
+            }
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.productapp.service;
 
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.UsageDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
 import com.example.productapp.exception.CustomException;
 import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.index.ProductFacetIndex;
 import com.example.productapp.model.Colour;
 import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductJdbcRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,9 +29,19 @@ public class ColourService {
     private static final Logger logger = LoggerFactory.getLogger(ColourService.class);
 
     private final ColourRepository colourRepository;
-
-    public ColourService(ColourRepository colourRepository) {
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductJdbcRepository productJdbcRepository;
+
+    public ColourService(ColourRepository colourRepository, ReferenceDataCache referenceDataCache,
+                         ApplicationEventPublisher eventPublisher, ProductFacetIndex productFacetIndex,
+                         ProductJdbcRepository productJdbcRepository) {
         this.colourRepository = colourRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+        this.productFacetIndex = productFacetIndex;
+        this.productJdbcRepository = productJdbcRepository;
     }
 
     /**
@@ -31,9 +49,10 @@ public class ColourService {
      *
      * @return List of colours.
      */
+    @Transactional(readOnly = true)
     public List<Colour> getAllColours() {
         logger.info("Fetching all colours...");
-        List<Colour> colours = colourRepository.findAll();
+        List<Colour> colours = referenceDataCache.getAllColours();
         logger.info("Retrieved {} colours successfully.", colours.size());
         return colours;
     }
@@ -59,12 +78,34 @@ public class ColourService {
         }
 
         Colour createdColour = colourRepository.save(colour);
+        referenceDataCache.invalidateColours();
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.CREATED, createdColour.getId()));
         logger.info("Colour created successfully with ID: {}", createdColour.getId());
         return createdColour;
     }
 
     /**
-     * Deletes a colour by ID.
+     * Counts the products a colour is assigned to, without querying the product tables.
+     * The count comes from the facet index, which is refreshed just after each commit, so it can briefly lag a write.
+     *
+     * @param id Colour ID.
+     * @return Number of products using the colour.
+     */
+    public UsageDTO getColourUsage(Long id) {
+        logger.info("Fetching usage of colour with ID: {}", id);
+        if (referenceDataCache.findColours(List.of(id)).isEmpty()) {
+            logger.error("Colour not found with ID: {}", id);
+            throw new ResourceNotFoundException("Colour not found with ID: " + id);
+        }
+        long productCount = productFacetIndex.countByColour(id);
+        logger.info("Colour with ID {} is used by {} products.", id, productCount);
+        return new UsageDTO(id, productCount);
+    }
+
+    /**
+     * Deletes a colour by ID. The usage count is a quick check only: the index can lag a write that just
+     * committed, so a colour it reports as used is counted again in this transaction before the delete is
+     * rejected, and a colour it reports as unused is left to the foreign key to reject.
      *
      * @param id Colour ID.
      */
@@ -77,9 +118,30 @@ public class ColourService {
             throw new ResourceNotFoundException("Colour not found with ID: " + id);
         }
 
+        long productCount = productFacetIndex.countByColour(id);
+        if (productCount > 0) {
+            productCount = productJdbcRepository.countByColour(id);
+        }
+        if (productCount > 0) {
+            logger.error("Failed to delete colour with ID {}: It is assigned to {} products.", id, productCount);
+            throw new CustomException("Cannot delete colour. It is assigned to " + productCount + " products. Please remove it from those products first.");
+        }
+        removeColour(id);
+    }
+
+    /**
+     * Deletes a colour without the usage check, for service code that has just detached it from every product
+     * in the current transaction. The foreign key still guards against any remaining use. Not for controllers.
+     *
+     * @param id Colour ID.
+     */
+    @Transactional
+    void removeColour(Long id) {
         try {
             colourRepository.deleteById(id);
             colourRepository.flush();
+            referenceDataCache.invalidateColours();
+            eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.DELETED, id));
             logger.info("Colour with ID {} deleted successfully.", id);
         } catch (DataIntegrityViolationException e) {
             logger.error("Failed to delete colour with ID {}: It is assigned to active products.", id);
@@ -113,6 +175,8 @@ public class ColourService {
 
         colour.setName(updatedColour.getName());
         Colour updatedEntity = colourRepository.save(colour);
+        referenceDataCache.invalidateColours();
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.UPDATED, id));
 
         logger.info("Colour with ID {} updated successfully to: {}", id, updatedEntity.getName());
         return updatedEntity;
@@ -0,0 +1,80 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting the product catalog as newline-delimited JSON.
+ */
+@Service
+public class ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportService.class);
+
+    private final ProductRepository productRepository;
+    private final ObjectWriter productWriter;
+
+    public ProductExportService(ProductRepository productRepository, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.productWriter = objectMapper.writerFor(ProductListDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * Streams every product, newest first, to the given output stream as one JSON object per line.
+     * Rows are read as scalar projections through a forward-only cursor, so neither the result set
+     * nor the persistence context grows with the catalog size. The output is flushed after the first
+     * product and then once per fetch batch.
+     *
+     * @param out Stream to write to; it is flushed but not closed.
+     * @return Number of products written.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out) throws IOException {
+        logger.info("Exporting all products...");
+        long[] written = {0};
+
+        try (JsonGenerator generator = productWriter.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             Stream<Object[]> rows = productRepository.streamListRows()) {
+
+            ProductListAssembler assembler = new ProductListAssembler(product -> {
+                try {
+                    productWriter.writeValue(generator, product);
+                    if (++written[0] % ProductRepository.EXPORT_FETCH_SIZE == 1) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rows.forEach(assembler);
+            assembler.finish();
+            if (written[0] > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            logger.error("Product export aborted after {} products: {}", written[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        logger.info("Exported {} products successfully.", written[0]);
+        return written[0];
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.ProductFilterResultDTO;
+import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.exception.ServiceUnavailableException;
+import com.example.productapp.index.ProductFacetIndex;
+import com.example.productapp.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service class for filtering products by product type and colour.
+ */
+@Service
+public class ProductFilterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductFilterService.class);
+
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductRepository productRepository;
+
+    public ProductFilterService(ProductFacetIndex productFacetIndex, ProductRepository productRepository) {
+        this.productFacetIndex = productFacetIndex;
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Filters products by type and colour using the in-memory facet index, then loads the newest
+     * matches with a single query.
+     *
+     * @param productTypeIds Product types to match (any of them); null or empty for all types.
+     * @param colourIds      Colours to match; null or empty for all colours.
+     * @param colourMatch    "any" to match products with any of the colours, "all" for all of them.
+     * @param limit          Maximum number of products to return.
+     * @return Matching products, the total match count and per-facet counts.
+     */
+    @Transactional(readOnly = true)
+    public ProductFilterResultDTO filterProducts(List<Long> productTypeIds, List<Long> colourIds, String colourMatch, int limit) {
+        if (!"any".equalsIgnoreCase(colourMatch) && !"all".equalsIgnoreCase(colourMatch)) {
+            logger.error("Invalid colour match mode requested: {}", colourMatch);
+            throw new IllegalArgumentException("Colour match must be 'any' or 'all'.");
+        }
+        if (limit < 1 || limit > ProductService.MAX_PAGE_SIZE) {
+            logger.error("Invalid filter limit requested: {}", limit);
+            throw new IllegalArgumentException("Limit must be between 1 and " + ProductService.MAX_PAGE_SIZE + ".");
+        }
+        if (!productFacetIndex.isReady()) {
+            logger.error("Product filter failed: Facet index is still loading.");
+            throw new ServiceUnavailableException("Product filters are still loading. Please try again shortly.");
+        }
+
+        List<Long> types = productTypeIds == null ? List.of() : productTypeIds;
+        List<Long> colours = colourIds == null ? List.of() : colourIds;
+        logger.info("Filtering products: types={}, colours={} ({}), limit={}", types, colours, colourMatch, limit);
+        ProductFacetIndex.FacetResult result = productFacetIndex.query(
+                types, colours, "all".equalsIgnoreCase(colourMatch), limit);
+        List<ProductListDTO> items = result.productIds().isEmpty()
+                ? List.of()
+                : ProductListAssembler.assemble(productRepository.findListRowsByIds(result.productIds()));
+
+        logger.info("Filter matched {} products, returning {}.", result.total(), items.size());
+        return new ProductFilterResultDTO(result.total(), items, result.productTypeCounts(), result.colourCounts());
+    }
+}
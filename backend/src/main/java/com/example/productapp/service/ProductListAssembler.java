@@ -0,0 +1,73 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.ProductListDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Folds flat (id, name, product type, colour) listing rows into ProductListDTOs.
+ * Rows must arrive grouped by product ID, which the listing queries guarantee by ordering on it.
+ */
+final class ProductListAssembler implements Consumer<Object[]> {
+
+    private final Consumer<ProductListDTO> downstream;
+    private final boolean withColours;
+    private ProductListDTO current;
+
+    ProductListAssembler(Consumer<ProductListDTO> downstream) {
+        this(downstream, true);
+    }
+
+    /**
+     * @param withColours False when the rows carry no colour column; the DTOs then have no colour list at all.
+     */
+    ProductListAssembler(Consumer<ProductListDTO> downstream, boolean withColours) {
+        this.downstream = downstream;
+        this.withColours = withColours;
+    }
+
+    /**
+     * Assembles a fully materialized list of rows.
+     *
+     * @param rows Flat listing rows.
+     * @return One DTO per product, in row order.
+     */
+    static List<ProductListDTO> assemble(List<Object[]> rows) {
+        return assemble(rows, true);
+    }
+
+    /**
+     * Assembles a fully materialized list of rows, leaving the colour lists null when the rows have no colours.
+     */
+    static List<ProductListDTO> assemble(List<Object[]> rows, boolean withColours) {
+        List<ProductListDTO> products = new ArrayList<>();
+        ProductListAssembler assembler = new ProductListAssembler(products::add, withColours);
+        rows.forEach(assembler);
+        assembler.finish();
+        return products;
+    }
+
+    @Override
+    public void accept(Object[] row) {
+        Long id = ((Number) row[0]).longValue();
+        if (current == null || !current.getId().equals(id)) {
+            finish();
+            current = new ProductListDTO(id, (String) row[1], (String) row[2], withColours ? new ArrayList<>() : null);
+        }
+        if (withColours && row[3] != null) {
+            current.getColours().add((String) row[3]);
+        }
+    }
+
+    /**
+     * Emits the product that is still being assembled, if any.
+     */
+    void finish() {
+        if (current != null) {
+            downstream.accept(current);
+            current = null;
+        }
+    }
+}
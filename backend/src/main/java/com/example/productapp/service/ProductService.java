@@ -1,21 +1,39 @@
 package com.example.productapp.service;
 
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.BulkCreateResultDTO;
+import com.example.productapp.dto.BulkItemErrorDTO;
+import com.example.productapp.dto.ColourAssignmentResultDTO;
 import com.example.productapp.dto.ProductDTO;
 import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.dto.ProductPageDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
 import com.example.productapp.exception.CustomException;
 import com.example.productapp.model.Colour;
 import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductField;
 import com.example.productapp.model.ProductType;
-import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductJdbcRepository;
 import com.example.productapp.repository.ProductRepository;
-import com.example.productapp.repository.ProductTypeRepository;
 import com.example.productapp.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -26,14 +44,28 @@ public class ProductService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_PREFIX = "id:";
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_COLOUR_ASSIGNMENT_PRODUCTS = 1000;
+    private static final int TRIGRAM_LENGTH = 3;
+
     private final ProductRepository productRepository;
-    private final ProductTypeRepository productTypeRepository;
-    private final ColourRepository colourRepository;
+    private final ProductJdbcRepository productJdbcRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBulkItems;
 
-    public ProductService(ProductRepository productRepository, ProductTypeRepository productTypeRepository, ColourRepository colourRepository) {
+    public ProductService(ProductRepository productRepository, ProductJdbcRepository productJdbcRepository,
+                          ReferenceDataCache referenceDataCache, ApplicationEventPublisher eventPublisher,
+                          @Value("${app.products.bulk.max-items:10000}") int maxBulkItems) {
         this.productRepository = productRepository;
-        this.productTypeRepository = productTypeRepository;
-        this.colourRepository = colourRepository;
+        this.productJdbcRepository = productJdbcRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+        this.maxBulkItems = maxBulkItems;
     }
 
     /**
@@ -46,6 +78,73 @@ public class ProductService {
     public Product createProduct(ProductDTO dto) {
         logger.info("Creating a new product: {}", dto.getName());
 
+        Product product = buildNewProduct(dto);
+
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.CREATED, savedProduct.getId()));
+        logger.info("Product created successfully with ID: {}", savedProduct.getId());
+
+        return savedProduct;
+    }
+
+    /**
+     * Creates many products at once. Every item is validated in a single pass against the cached
+     * product types and colours; valid items are then inserted with batched JDBC statements in
+     * chunked transactions, and invalid items are reported back by their position in the request.
+     * A CREATED event is published inside each chunk's transaction. A chunk that fails to save does not
+     * stop the others; its items are reported as errors, next to the IDs of the chunks that committed.
+     *
+     * @param dtos Product creation request data.
+     * @return IDs of the created products and the errors of the rejected items.
+     */
+    public BulkCreateResultDTO createProducts(List<ProductDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            logger.error("Bulk product creation failed: No products supplied.");
+            throw new IllegalArgumentException("Please provide at least one product.");
+        }
+        if (dtos.size() > maxBulkItems) {
+            logger.error("Bulk product creation failed: {} products exceed the limit of {}.", dtos.size(), maxBulkItems);
+            throw new IllegalArgumentException("At most " + maxBulkItems + " products can be created at once.");
+        }
+        for (int i = 0; i < dtos.size(); i++) {
+            if (dtos.get(i) == null) {
+                logger.error("Bulk product creation failed: Product at index {} is null.", i);
+                throw new IllegalArgumentException("Product at index " + i + " is missing.");
+            }
+        }
+        logger.info("Creating {} products in bulk...", dtos.size());
+
+        List<Product> products = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        List<BulkItemErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                products.add(buildNewProduct(dtos.get(i)));
+                positions.add(i);
+            } catch (IllegalArgumentException | ResourceNotFoundException e) {
+                errors.add(new BulkItemErrorDTO(i, e.getMessage()));
+            }
+        }
+
+        List<Long> createdIds = products.isEmpty() ? List.of() : productJdbcRepository.insertAll(products,
+                chunkIds -> eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.CREATED, chunkIds)),
+                (from, to, cause) -> {
+                    for (int i = from; i < to; i++) {
+                        errors.add(new BulkItemErrorDTO(positions.get(i), "Product could not be saved. Please try again."));
+                    }
+                });
+        errors.sort(Comparator.comparingInt(BulkItemErrorDTO::getIndex));
+        logger.info("Bulk creation finished: {} created, {} rejected.", createdIds.size(), errors.size());
+        return new BulkCreateResultDTO(dtos.size(), createdIds.size(), createdIds, errors);
+    }
+
+    /**
+     * Validates creation request data and builds the unsaved product entity.
+     *
+     * @param dto Product creation request data.
+     * @return Product ready to be saved.
+     */
+    private Product buildNewProduct(ProductDTO dto) {
         if (dto.getName() == null || dto.getName().trim().isEmpty()) {
             logger.error("Product creation failed: Name cannot be empty.");
             throw new IllegalArgumentException("Product name cannot be empty.");
@@ -56,53 +155,164 @@ public class ProductService {
             throw new IllegalArgumentException("Product Type ID is required.");
         }
 
-        ProductType productType = productTypeRepository.findById(dto.getProductTypeId())
+        ProductType productType = referenceDataCache.findProductType(dto.getProductTypeId())
                 .orElseThrow(() -> {
                     logger.error("Product creation failed: Product Type not found with ID: {}", dto.getProductTypeId());
                     return new ResourceNotFoundException("Product Type not found with ID: " + dto.getProductTypeId());
                 });
 
-        List<Colour> colours = colourRepository.findAllById(dto.getColourIds());
+        List<Long> colourIds = dto.getColourIds() == null ? List.of() : dto.getColourIds();
+        List<Colour> colours = referenceDataCache.findColours(colourIds);
         List<Long> foundColourIds = colours.stream().map(Colour::getId).toList();
 
-        if (foundColourIds.size() != dto.getColourIds().size()) {
-            logger.error("Product creation failed: One or more selected colours are invalid. Found: {}, Expected: {}", foundColourIds, dto.getColourIds());
-            throw new IllegalArgumentException("One or more selected colours are invalid. Found: " + foundColourIds + ", Expected: " + dto.getColourIds());
+        if (foundColourIds.size() != colourIds.size()) {
+            logger.error("Product creation failed: One or more selected colours are invalid. Found: {}, Expected: {}", foundColourIds, colourIds);
+            throw new IllegalArgumentException("One or more selected colours are invalid. Found: " + foundColourIds + ", Expected: " + colourIds);
         }
 
-        Product product = Product.builder()
+        return Product.builder()
                 .name(dto.getName().trim())
                 .productType(productType)
-                .colours(colours)
+                .colours(new LinkedHashSet<>(colours))
                 .build();
-
-        Product savedProduct = productRepository.save(product);
-        logger.info("Product created successfully with ID: {}", savedProduct.getId());
-
-        return savedProduct;
     }
 
     /**
      * Retrieves all products, ordered by creation date (newest first).
+     * Rows are read with a single join query straight into DTOs, so no entities are loaded.
      *
      * @return List of ProductListDTO.
      */
+    @Transactional(readOnly = true)
     public List<ProductListDTO> getAllProducts() {
         logger.info("Fetching all products...");
-        List<ProductListDTO> products = productRepository.findAllByOrderByIdDesc()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<ProductListDTO> products = ProductListAssembler.assemble(productRepository.findListRows());
+        logger.info("Fetched {} products successfully.", products.size());
+        return products;
+    }
+
+    /**
+     * Retrieves all products like {@link #getAllProducts()}, reading only the requested fields.
+     * Product types and colours are not joined at all unless they are requested.
+     *
+     * @param fields Fields to return; the others are null.
+     * @return List of ProductListDTO.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductListDTO> getAllProducts(Set<ProductField> fields) {
+        logger.info("Fetching all products with fields {}...", fields);
+        List<ProductListDTO> products = ProductListAssembler.assemble(
+                productJdbcRepository.findListRows(fields, Long.MAX_VALUE, null), fields.contains(ProductField.COLOURS));
         logger.info("Fetched {} products successfully.", products.size());
         return products;
     }
 
+    /**
+     * Retrieves one page of products, newest first, using keyset pagination on the product ID.
+     * The cursor is opaque to clients; it encodes the last ID of the previous page so the next
+     * page is a seek on the primary key rather than an OFFSET scan.
+     *
+     * @param after Cursor returned with the previous page, or null for the first page.
+     * @param limit Maximum number of products to return.
+     * @return The page of products and the cursor of the next page (null when this is the last page).
+     */
+    @Transactional(readOnly = true)
+    public ProductPageDTO getProductsPage(String after, int limit) {
+        return getProductsPage(after, limit,
+                (afterId, size) -> ProductListAssembler.assemble(productRepository.findListRowsBefore(afterId, size)));
+    }
+
+    /**
+     * Retrieves one page of products like {@link #getProductsPage(String, int)}, reading only the requested fields.
+     *
+     * @param after  Cursor returned with the previous page, or null for the first page.
+     * @param limit  Maximum number of products to return.
+     * @param fields Fields to return; the others are null.
+     * @return The page of products and the cursor of the next page (null when this is the last page).
+     */
+    @Transactional(readOnly = true)
+    public ProductPageDTO getProductsPage(String after, int limit, Set<ProductField> fields) {
+        return getProductsPage(after, limit, (afterId, size) -> ProductListAssembler.assemble(
+                productJdbcRepository.findListRows(fields, afterId, size), fields.contains(ProductField.COLOURS)));
+    }
+
+    private ProductPageDTO getProductsPage(String after, int limit, BiFunction<Long, Integer, List<ProductListDTO>> pageLoader) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            logger.error("Invalid page size requested: {}", limit);
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        logger.info("Fetching products page: after={}, limit={}", after, limit);
+        long afterId = after == null ? Long.MAX_VALUE : decodeCursor(after);
+        // Fetch one extra product to find out whether another page follows without a count query
+        List<ProductListDTO> rows = pageLoader.apply(afterId, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<ProductListDTO> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1).getId()) : null;
+
+        logger.info("Fetched {} products successfully. More available: {}", items.size(), hasMore);
+        return new ProductPageDTO(items, nextCursor);
+    }
+
+    /**
+     * Searches products by name, case-insensitively. Needles of three characters or more match anywhere
+     * in the name, with prefix matches ranked first; shorter needles only match name prefixes.
+     *
+     * @param query Text to search for.
+     * @param limit Maximum number of results.
+     * @return Best matching products.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductListDTO> searchProducts(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            logger.error("Product search failed: Query is empty.");
+            throw new IllegalArgumentException("Search query cannot be empty.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            logger.error("Invalid search limit requested: {}", limit);
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_LIMIT + ".");
+        }
+
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        String escaped = needle.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        logger.info("Searching products for '{}' (limit {})", needle, limit);
+
+        List<Object[]> rows = needle.length() < TRIGRAM_LENGTH
+                ? productRepository.searchListRowsByPrefix(escaped + "%", limit)
+                : productRepository.searchListRows(needle, "%" + escaped + "%", escaped + "%", limit);
+        List<ProductListDTO> products = ProductListAssembler.assemble(rows);
+
+        logger.info("Found {} products matching '{}'.", products.size(), needle);
+        return products;
+    }
+
+    /**
+     * Retrieves the requested fields of a product, in the listing format.
+     *
+     * @param id     Product ID.
+     * @param fields Fields to return; the others are null.
+     * @return The product's fields.
+     */
+    @Transactional(readOnly = true)
+    public ProductListDTO getProductFields(Long id, Set<ProductField> fields) {
+        logger.info("Fetching fields {} of product with ID: {}", fields, id);
+        List<ProductListDTO> products = ProductListAssembler.assemble(
+                productJdbcRepository.findListRowsById(fields, id), fields.contains(ProductField.COLOURS));
+        if (products.isEmpty()) {
+            logger.error("Product not found with ID: {}", id);
+            throw new ResourceNotFoundException("Product not found with ID: " + id);
+        }
+        return products.get(0);
+    }
+
     /**
      * Retrieves a product by ID or throws a custom exception if not found.
      *
      * @param id Product ID.
      * @return The found product.
      */
+    @Transactional(readOnly = true)
     public Product getProductById(Long id) {
         logger.info("Fetching product with ID: {}", id);
         return productRepository.findById(id)
@@ -125,11 +335,13 @@ public class ProductService {
             throw new ResourceNotFoundException("Product not found with ID: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.DELETED, id));
         logger.info("Product with ID: {} deleted successfully.", id);
     }
 
     /**
      * Updates an existing product with new details including name, product type, and colours.
+     * Only changed colour assignments are written, and a request that changes nothing writes nothing.
      *
      * @param id Product ID.
      * @param dto Data Transfer Object (DTO) containing updated product details.
@@ -158,37 +370,177 @@ public class ProductService {
                     return new ResourceNotFoundException("Product not found with ID: " + id);
                 });
 
-        product.setName(dto.getName());
-
-        ProductType productType = productTypeRepository.findById(dto.getProductTypeId())
+        ProductType productType = referenceDataCache.findProductType(dto.getProductTypeId())
                 .orElseThrow(() -> {
                     logger.error("Update failed: Product Type not found.");
                     return new ResourceNotFoundException("Product Type not found");
                 });
 
-        product.setProductType(productType);
+        List<Colour> colours = referenceDataCache.findColours(dto.getColourIds());
 
-        List<Colour> colours = colourRepository.findAllById(dto.getColourIds());
-        product.setColours(colours);
+        if (!applyChanges(product, dto.getName(), productType, colours)) {
+            logger.info("Product with ID {} is unchanged; nothing to update.", id);
+            return product;
+        }
 
         Product updatedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, id));
         logger.info("Product updated successfully: ID: {}, Name: {}", updatedProduct.getId(), updatedProduct.getName());
 
         return updatedProduct;
     }
 
     /**
-     * Converts a Product entity to a ProductListDTO.
+     * Adds a colour to a product with a single join-table insert; neither entity is loaded.
+     * Adding a colour the product already has is a no-op.
      *
-     * @param product Product entity.
-     * @return ProductListDTO.
+     * @param id       Product ID.
+     * @param colourId Colour ID.
      */
-    private ProductListDTO convertToDTO(Product product) {
-        return new ProductListDTO(
-                product.getId(),
-                product.getName(),
-                product.getProductType().getName(),
-                product.getColours().stream().map(Colour::getName).collect(Collectors.toList())
-        );
+    @Transactional
+    public void attachColour(Long id, Long colourId) {
+        logger.info("Attaching colour {} to product {}", colourId, id);
+        requireColour(colourId);
+        if (productJdbcRepository.attachColour(id, colourId) == 0) {
+            requireProduct(id);
+            logger.info("Product {} already has colour {}.", id, colourId);
+            return;
+        }
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, id));
+        logger.info("Colour {} attached to product {}.", colourId, id);
+    }
+
+    /**
+     * Removes a colour from a product with a single join-table delete; neither entity is loaded.
+     * Removing a colour the product does not have is a no-op.
+     *
+     * @param id       Product ID.
+     * @param colourId Colour ID.
+     */
+    @Transactional
+    public void detachColour(Long id, Long colourId) {
+        logger.info("Detaching colour {} from product {}", colourId, id);
+        if (productJdbcRepository.detachColour(id, colourId) == 0) {
+            requireProduct(id);
+            logger.info("Product {} does not have colour {}.", id, colourId);
+            return;
+        }
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, id));
+        logger.info("Colour {} detached from product {}.", colourId, id);
+    }
+
+    /**
+     * Adds a colour to many products with one statement. Unknown products and products that
+     * already have the colour are skipped.
+     *
+     * @param productIds Product IDs.
+     * @param colourId   Colour ID.
+     * @return Number of products the colour was added to.
+     */
+    @Transactional
+    public ColourAssignmentResultDTO attachColour(List<Long> productIds, Long colourId) {
+        validateColourAssignment(productIds);
+        logger.info("Attaching colour {} to {} products", colourId, productIds.size());
+        requireColour(colourId);
+        int affected = productJdbcRepository.attachColour(productIds, colourId);
+        if (affected > 0) {
+            eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, List.copyOf(productIds)));
+        }
+        logger.info("Colour {} attached to {} of {} products.", colourId, affected, productIds.size());
+        return new ColourAssignmentResultDTO(productIds.size(), affected);
+    }
+
+    /**
+     * Removes a colour from many products with one statement.
+     *
+     * @param productIds Product IDs.
+     * @param colourId   Colour ID.
+     * @return Number of products the colour was removed from.
+     */
+    @Transactional
+    public ColourAssignmentResultDTO detachColour(List<Long> productIds, Long colourId) {
+        validateColourAssignment(productIds);
+        logger.info("Detaching colour {} from {} products", colourId, productIds.size());
+        int affected = productJdbcRepository.detachColour(productIds, colourId);
+        if (affected > 0) {
+            eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, List.copyOf(productIds)));
+        }
+        logger.info("Colour {} detached from {} of {} products.", colourId, affected, productIds.size());
+        return new ColourAssignmentResultDTO(productIds.size(), affected);
+    }
+
+    private void validateColourAssignment(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            logger.error("Colour assignment failed: No products supplied.");
+            throw new IllegalArgumentException("Please provide at least one product ID.");
+        }
+        if (productIds.size() > MAX_COLOUR_ASSIGNMENT_PRODUCTS) {
+            logger.error("Colour assignment failed: {} products exceed the limit of {}.", productIds.size(), MAX_COLOUR_ASSIGNMENT_PRODUCTS);
+            throw new IllegalArgumentException("At most " + MAX_COLOUR_ASSIGNMENT_PRODUCTS + " products can be updated at once.");
+        }
+    }
+
+    private void requireColour(Long colourId) {
+        if (referenceDataCache.findColours(List.of(colourId)).isEmpty()) {
+            logger.error("Colour not found with ID: {}", colourId);
+            throw new ResourceNotFoundException("Colour not found with ID: " + colourId);
+        }
+    }
+
+    private void requireProduct(Long id) {
+        if (!productRepository.existsById(id)) {
+            logger.error("Product not found with ID: {}", id);
+            throw new ResourceNotFoundException("Product not found with ID: " + id);
+        }
+    }
+
+    /**
+     * Applies the requested name, product type and colours to a loaded product. Colours are added to and
+     * removed from the mapped set in place, so Hibernate only writes the product_colour rows that change.
+     *
+     * @return True if anything changed.
+     */
+    private static boolean applyChanges(Product product, String name, ProductType productType, List<Colour> colours) {
+        boolean changed = false;
+        if (!name.equals(product.getName())) {
+            product.setName(name);
+            changed = true;
+        }
+        if (product.getProductType() == null || !product.getProductType().getId().equals(productType.getId())) {
+            product.setProductType(productType);
+            changed = true;
+        }
+
+        if (product.getColours() == null) {
+            product.setColours(new LinkedHashSet<>());
+        }
+        Set<Long> wantedIds = colours.stream().map(Colour::getId).collect(Collectors.toSet());
+        Set<Long> currentIds = product.getColours().stream().map(Colour::getId).collect(Collectors.toSet());
+        changed |= product.getColours().removeIf(colour -> !wantedIds.contains(colour.getId()));
+        for (Colour colour : colours) {
+            if (!currentIds.contains(colour.getId())) {
+                product.getColours().add(colour);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid cursor supplied: {}", cursor);
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
     }
 }
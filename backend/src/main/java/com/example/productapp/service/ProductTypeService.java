@@ -1,11 +1,19 @@
 package com.example.productapp.service;
 
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.UsageDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
 import com.example.productapp.exception.CustomException;
 import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.index.ProductFacetIndex;
 import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ProductJdbcRepository;
 import com.example.productapp.repository.ProductTypeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,9 +29,19 @@ public class ProductTypeService {
     private static final Logger logger = LoggerFactory.getLogger(ProductTypeService.class);
 
     private final ProductTypeRepository productTypeRepository;
-
-    public ProductTypeService(ProductTypeRepository productTypeRepository) {
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductFacetIndex productFacetIndex;
+    private final ProductJdbcRepository productJdbcRepository;
+
+    public ProductTypeService(ProductTypeRepository productTypeRepository, ReferenceDataCache referenceDataCache,
+                              ApplicationEventPublisher eventPublisher, ProductFacetIndex productFacetIndex,
+                              ProductJdbcRepository productJdbcRepository) {
         this.productTypeRepository = productTypeRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+        this.productFacetIndex = productFacetIndex;
+        this.productJdbcRepository = productJdbcRepository;
     }
 
     /**
@@ -31,9 +49,10 @@ public class ProductTypeService {
      *
      * @return List of product types.
      */
+    @Transactional(readOnly = true)
     public List<ProductType> getAllProductTypes() {
         logger.info("Fetching all product types from the database...");
-        List<ProductType> productTypes = productTypeRepository.findAll();
+        List<ProductType> productTypes = referenceDataCache.getAllProductTypes();
         logger.info("Fetched {} product types successfully.", productTypes.size());
         return productTypes;
     }
@@ -59,12 +78,34 @@ public class ProductTypeService {
         }
 
         ProductType createdType = productTypeRepository.save(productType);
+        referenceDataCache.invalidateProductTypes();
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT_TYPE, ChangeType.CREATED, createdType.getId()));
         logger.info("Product type created successfully with ID: {}", createdType.getId());
         return createdType;
     }
 
     /**
-     * Deletes a product type by ID.
+     * Counts the products of a product type, without querying the product tables.
+     * The count comes from the facet index, which is refreshed just after each commit, so it can briefly lag a write.
+     *
+     * @param id Product type ID.
+     * @return Number of products of the type.
+     */
+    public UsageDTO getProductTypeUsage(Long id) {
+        logger.info("Fetching usage of product type with ID: {}", id);
+        if (referenceDataCache.findProductType(id).isEmpty()) {
+            logger.error("Product type not found with ID: {}", id);
+            throw new ResourceNotFoundException("Product Type not found with ID: " + id);
+        }
+        long productCount = productFacetIndex.countByProductType(id);
+        logger.info("Product type with ID {} is used by {} products.", id, productCount);
+        return new UsageDTO(id, productCount);
+    }
+
+    /**
+     * Deletes a product type by ID. The usage count is a quick check only: a product type the index reports as
+     * used is counted again in this transaction before the delete is rejected, and one it reports as unused is
+     * left to the foreign key to reject.
      *
      * @param id Product type ID.
      */
@@ -77,9 +118,20 @@ public class ProductTypeService {
             throw new ResourceNotFoundException("Product Type not found with ID: " + id);
         }
 
+        long productCount = productFacetIndex.countByProductType(id);
+        if (productCount > 0) {
+            productCount = productJdbcRepository.countByProductType(id);
+        }
+        if (productCount > 0) {
+            logger.error("Cannot delete product type with ID {}. It is assigned to {} products.", id, productCount);
+            throw new CustomException("Cannot delete product type. It is being used in " + productCount + " products.");
+        }
+
         try {
             productTypeRepository.deleteById(id);
             productTypeRepository.flush();
+            referenceDataCache.invalidateProductTypes();
+            eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT_TYPE, ChangeType.DELETED, id));
             logger.info("Product type with ID: {} deleted successfully.", id);
         } catch (DataIntegrityViolationException e) {
             logger.error("Cannot delete product type with ID {}. It is assigned to existing products.", id);
@@ -113,6 +165,8 @@ public class ProductTypeService {
 
         type.setName(updatedType.getName());
         ProductType updatedProductType = productTypeRepository.save(type);
+        referenceDataCache.invalidateProductTypes();
+        eventPublisher.publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT_TYPE, ChangeType.UPDATED, id));
 
         logger.info("Product type with ID: {} updated successfully to: {}", id, updatedProductType.getName());
         return updatedProductType;
@@ -0,0 +1,23 @@
+-- Catalog schema as previously generated by Hibernate from the entities.
+-- Databases created that way are baselined at this version and start from V2.
+
+CREATE TABLE IF NOT EXISTS colour (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS product_type (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name            VARCHAR(255),
+    product_type_id BIGINT REFERENCES product_type (id)
+);
+
+CREATE TABLE IF NOT EXISTS product_colour (
+    product_id BIGINT NOT NULL REFERENCES product (id),
+    colour_id  BIGINT NOT NULL REFERENCES colour (id)
+);
@@ -0,0 +1,47 @@
+-- Constraints and indexes for the access paths the application uses.
+
+-- A product has each colour at most once. Older databases stored the link as a bag and may hold duplicates.
+DELETE FROM product_colour a
+    USING product_colour b
+    WHERE a.ctid < b.ctid
+      AND a.product_id = b.product_id
+      AND a.colour_id = b.colour_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conrelid = 'product_colour'::regclass AND contype = 'p') THEN
+        ALTER TABLE product_colour ADD CONSTRAINT product_colour_pkey PRIMARY KEY (product_id, colour_id);
+    END IF;
+END $$;
+
+-- Products of a colour (filters, usage counts, colour merges and deletes); the primary key covers the other direction
+CREATE INDEX IF NOT EXISTS idx_product_colour_colour_product ON product_colour (colour_id, product_id);
+
+-- Products of a type (filters, retyping, usage counts and type deletes)
+CREATE INDEX IF NOT EXISTS idx_product_product_type_id ON product (product_type_id, id DESC);
+
+-- Newest-first listing and keyset pages, answered from the index alone
+CREATE INDEX IF NOT EXISTS idx_product_id_desc ON product (id DESC) INCLUDE (name, product_type_id);
+
+-- Names are unique and looked up by existsByName
+CREATE UNIQUE INDEX IF NOT EXISTS uq_colour_name ON colour (name);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_product_type_name ON product_type (name);
+
+-- Product name search: prefix matches and short needles
+CREATE INDEX IF NOT EXISTS idx_product_name_prefix ON product (lower(name) text_pattern_ops);
+
+-- Product name search: substring matches. pg_trgm may not be installable by the application user,
+-- in which case substring search falls back to scanning the product table.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE NOTICE 'pg_trgm is not available, skipping the trigram index: %', SQLERRM;
+END $$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON product USING gin (lower(name) gin_trgm_ops);
+    END IF;
+END $$;
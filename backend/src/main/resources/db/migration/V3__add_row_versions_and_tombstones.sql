@@ -0,0 +1,75 @@
+-- Change tracking for GET /api/sync.
+-- Every catalog row records the ID of the transaction that last wrote it (row_version). Transaction IDs only grow,
+-- and a reader's snapshot tells which of them may still be in flight, so a client that syncs from the snapshot's
+-- xmin never misses a row that commits later with a lower ID. Requires PostgreSQL 13 or later.
+
+ALTER TABLE colour ADD COLUMN IF NOT EXISTS row_version xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE product_type ADD COLUMN IF NOT EXISTS row_version xid8 NOT NULL DEFAULT pg_current_xact_id();
+ALTER TABLE product ADD COLUMN IF NOT EXISTS row_version xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE INDEX IF NOT EXISTS idx_colour_row_version ON colour (row_version);
+CREATE INDEX IF NOT EXISTS idx_product_type_row_version ON product_type (row_version);
+CREATE INDEX IF NOT EXISTS idx_product_row_version ON product (row_version);
+
+-- Deleted rows, kept so that clients holding a copy learn about the delete
+CREATE TABLE IF NOT EXISTS catalog_tombstone (
+    entity      VARCHAR(32) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    row_version xid8        NOT NULL DEFAULT pg_current_xact_id(),
+    deleted_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    PRIMARY KEY (entity, entity_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_catalog_tombstone_row_version ON catalog_tombstone (row_version);
+
+CREATE OR REPLACE FUNCTION stamp_row_version() RETURNS trigger AS $$
+BEGIN
+    NEW.row_version := pg_current_xact_id();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION record_tombstone() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO catalog_tombstone (entity, entity_id)
+    SELECT TG_ARGV[0], id FROM deleted
+    ON CONFLICT (entity, entity_id) DO UPDATE SET row_version = EXCLUDED.row_version, deleted_at = EXCLUDED.deleted_at;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A product's colours are part of the product, so colour links written with plain SQL also stamp the product.
+-- Statement-level, so a bulk assignment updates each product once rather than once per row.
+CREATE OR REPLACE FUNCTION stamp_products_of_colour_links() RETURNS trigger AS $$
+BEGIN
+    UPDATE product SET row_version = pg_current_xact_id() WHERE id IN (SELECT product_id FROM changed_links);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_colour_row_version ON colour;
+CREATE TRIGGER trg_colour_row_version BEFORE UPDATE ON colour
+    FOR EACH ROW EXECUTE FUNCTION stamp_row_version();
+DROP TRIGGER IF EXISTS trg_product_type_row_version ON product_type;
+CREATE TRIGGER trg_product_type_row_version BEFORE UPDATE ON product_type
+    FOR EACH ROW EXECUTE FUNCTION stamp_row_version();
+DROP TRIGGER IF EXISTS trg_product_row_version ON product;
+CREATE TRIGGER trg_product_row_version BEFORE UPDATE ON product
+    FOR EACH ROW EXECUTE FUNCTION stamp_row_version();
+
+DROP TRIGGER IF EXISTS trg_colour_tombstone ON colour;
+CREATE TRIGGER trg_colour_tombstone AFTER DELETE ON colour
+    REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION record_tombstone('COLOUR');
+DROP TRIGGER IF EXISTS trg_product_type_tombstone ON product_type;
+CREATE TRIGGER trg_product_type_tombstone AFTER DELETE ON product_type
+    REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION record_tombstone('PRODUCT_TYPE');
+DROP TRIGGER IF EXISTS trg_product_tombstone ON product;
+CREATE TRIGGER trg_product_tombstone AFTER DELETE ON product
+    REFERENCING OLD TABLE AS deleted FOR EACH STATEMENT EXECUTE FUNCTION record_tombstone('PRODUCT');
+
+DROP TRIGGER IF EXISTS trg_product_colour_inserted ON product_colour;
+CREATE TRIGGER trg_product_colour_inserted AFTER INSERT ON product_colour
+    REFERENCING NEW TABLE AS changed_links FOR EACH STATEMENT EXECUTE FUNCTION stamp_products_of_colour_links();
+DROP TRIGGER IF EXISTS trg_product_colour_deleted ON product_colour;
+CREATE TRIGGER trg_product_colour_deleted AFTER DELETE ON product_colour
+    REFERENCING OLD TABLE AS changed_links FOR EACH STATEMENT EXECUTE FUNCTION stamp_products_of_colour_links();
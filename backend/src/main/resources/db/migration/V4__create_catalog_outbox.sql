@@ -0,0 +1,10 @@
+-- Transactional outbox: catalog change events written in the same transaction as the change,
+-- then relayed to downstream consumers and deleted. Drained in id order; the primary key serves the scan.
+CREATE TABLE IF NOT EXISTS catalog_outbox (
+    id          BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    entity      VARCHAR(32) NOT NULL,
+    change_type VARCHAR(16) NOT NULL,
+    -- NULL when any row of the entity may have changed
+    entity_ids  BIGINT[],
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
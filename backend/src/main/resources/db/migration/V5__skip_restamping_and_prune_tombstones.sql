@@ -0,0 +1,21 @@
+-- Products inserted or updated earlier in the same transaction already carry its ID; stamping them again from the
+-- colour link triggers only leaves a second dead tuple per row on the bulk insert and import paths.
+CREATE OR REPLACE FUNCTION stamp_products_of_colour_links() RETURNS trigger AS $$
+BEGIN
+    UPDATE product SET row_version = pg_current_xact_id()
+    WHERE id IN (SELECT product_id FROM changed_links)
+      AND row_version IS DISTINCT FROM pg_current_xact_id();
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Tombstones are pruned after app.sync.tombstone-retention. The highest pruned version is kept here: a client
+-- syncing from at or below it may have missed a delete and is sent the whole catalog instead.
+CREATE TABLE IF NOT EXISTS catalog_sync_horizon (
+    id      SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT   NOT NULL
+);
+
+INSERT INTO catalog_sync_horizon (id, version) VALUES (1, 0) ON CONFLICT (id) DO NOTHING;
+
+CREATE INDEX IF NOT EXISTS idx_catalog_tombstone_deleted_at ON catalog_tombstone (deleted_at);
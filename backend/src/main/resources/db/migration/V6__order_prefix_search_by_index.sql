@@ -0,0 +1,8 @@
+-- Short-needle product name search. The text_pattern_ops index from V2 finds the prefix range but cannot return
+-- rows in ORDER BY order, because its operator family is not the one ORDER BY sorts with, so every match was
+-- read and sorted before the limit. With the "C" collation the default operator class serves both the LIKE prefix
+-- and the order, and id settles ties, so the scan stops at the limit.
+-- EXPLAIN of the inner query should show a Limit over an Index Scan on idx_product_name_prefix_c, with no Sort.
+CREATE INDEX IF NOT EXISTS idx_product_name_prefix_c ON product ((lower(name)) COLLATE "C", id DESC);
+
+DROP INDEX IF EXISTS idx_product_name_prefix;
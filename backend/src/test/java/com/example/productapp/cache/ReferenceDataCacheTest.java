@@ -0,0 +1,138 @@
+package com.example.productapp.cache;
+
+import com.example.productapp.dto.CacheStatsDTO;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReferenceDataCacheTest {
+
+    @Mock
+    private ColourRepository colourRepository;
+
+    @Mock
+    private ProductTypeRepository productTypeRepository;
+
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        referenceDataCache = new ReferenceDataCache(colourRepository, productTypeRepository, 3);
+        when(colourRepository.findAll()).thenReturn(Arrays.asList(new Colour(1L, "Red"), new Colour(2L, "Blue")));
+        when(productTypeRepository.findAll()).thenReturn(Arrays.asList(new ProductType(1L, "Furniture")));
+    }
+
+    @Test
+    void testReadThrough_LoadsOnceAndCountsHits() {
+        assertEquals(2, referenceDataCache.getAllColours().size());
+        assertEquals(2, referenceDataCache.getAllColours().size());
+        assertEquals("Furniture", referenceDataCache.findProductType(1L).orElseThrow().getName());
+        assertTrue(referenceDataCache.findProductType(9L).isEmpty());
+
+        verify(colourRepository, times(1)).findAll();
+        verify(productTypeRepository, times(1)).findAll();
+        CacheStatsDTO stats = referenceDataCache.getStats();
+        assertEquals(2, stats.getMisses());
+        assertEquals(2, stats.getHits());
+        assertEquals(2, stats.getCachedColours());
+        assertEquals(1, stats.getCachedProductTypes());
+    }
+
+    @Test
+    void testFindColours_SkipsUnknownAndDuplicateIds() {
+        List<Colour> colours = referenceDataCache.findColours(Arrays.asList(2L, 99L, 2L, 1L));
+
+        assertEquals(Arrays.asList(2L, 1L), colours.stream().map(Colour::getId).toList());
+    }
+
+    @Test
+    void testInvalidate_ReloadsOnNextRead() {
+        referenceDataCache.getAllColours();
+        referenceDataCache.invalidateColours();
+        referenceDataCache.getAllColours();
+
+        verify(colourRepository, times(2)).findAll();
+        verify(productTypeRepository, never()).findAll();
+    }
+
+    @Test
+    void testConcurrentMisses_ShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(colourRepository.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Arrays.asList(new Colour(1L, "Red"), new Colour(2L, "Blue"));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Colour>> first = executor.submit(referenceDataCache::getAllColours);
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            CountDownLatch secondStarted = new CountDownLatch(1);
+            Future<List<Colour>> second = executor.submit(() -> {
+                secondStarted.countDown();
+                return referenceDataCache.getAllColours();
+            });
+            assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+            // Without single-flight the second miss would reach the repository while the first load is blocked
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals(2, first.get(5, TimeUnit.SECONDS).size());
+            assertEquals(2, second.get(5, TimeUnit.SECONDS).size());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(colourRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testTableAboveLimit_IsNotCached() {
+        when(colourRepository.findAll()).thenReturn(Arrays.asList(
+                new Colour(1L, "Red"), new Colour(2L, "Blue"), new Colour(3L, "Black"), new Colour(4L, "White")));
+
+        assertEquals(4, referenceDataCache.getAllColours().size());
+        assertEquals(4, referenceDataCache.getAllColours().size());
+
+        verify(colourRepository, times(2)).findAll();
+        assertEquals(0, referenceDataCache.getStats().getCachedColours());
+    }
+
+    @Test
+    void testTableAboveLimit_LooksUpByIdUntilInvalidated() {
+        when(colourRepository.findAll()).thenReturn(Arrays.asList(
+                new Colour(1L, "Red"), new Colour(2L, "Blue"), new Colour(3L, "Black"), new Colour(4L, "White")));
+        when(colourRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(new Colour(4L, "White")));
+
+        assertEquals(1, referenceDataCache.findColours(List.of(4L)).size());
+        List<Colour> colours = referenceDataCache.findColours(Arrays.asList(4L, 99L, 4L));
+
+        assertEquals(List.of(4L), colours.stream().map(Colour::getId).toList());
+        verify(colourRepository, times(1)).findAll();
+        verify(colourRepository, times(1)).findAllById(List.of(4L, 99L));
+
+        referenceDataCache.invalidateColours();
+        referenceDataCache.findColours(List.of(4L));
+
+        verify(colourRepository, times(2)).findAll();
+    }
+}
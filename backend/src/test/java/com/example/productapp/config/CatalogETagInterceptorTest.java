@@ -0,0 +1,123 @@
+package com.example.productapp.config;
+
+import com.example.productapp.cache.CatalogVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogETagInterceptorTest {
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @InjectMocks
+    private CatalogETagInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(catalogVersion.current()).thenReturn(42L);
+    }
+
+    /** TEST CASES FOR `preHandle()` **/
+
+    @Test
+    void testPreHandle_NoValidator_SetsETag() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertEquals("W/\"42\"", response.getHeader("ETag"));
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void testPreHandle_MatchingValidator_NotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/colours");
+        request.addHeader("If-None-Match", "\"41\", W/\"42\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, new Object()));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void testPreHandle_StaleValidator_Proceeds() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/colours");
+        request.addHeader("If-None-Match", "\"41\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testPreHandle_BinaryFormats_SeparateETags() {
+        MockHttpServletRequest smile = new MockHttpServletRequest("GET", "/api/products");
+        smile.addHeader("Accept", "application/json;q=0.5, application/x-jackson-smile");
+        MockHttpServletResponse smileResponse = new MockHttpServletResponse();
+        MockHttpServletRequest cbor = new MockHttpServletRequest("GET", "/api/products");
+        cbor.addHeader("Accept", "application/cbor");
+        MockHttpServletResponse cborResponse = new MockHttpServletResponse();
+
+        interceptor.preHandle(smile, smileResponse, new Object());
+        interceptor.preHandle(cbor, cborResponse, new Object());
+
+        assertEquals("W/\"42-smile\"", smileResponse.getHeader("ETag"));
+        assertEquals("W/\"42-cbor\"", cborResponse.getHeader("ETag"));
+        assertEquals("Accept", cborResponse.getHeader("Vary"));
+    }
+
+    @Test
+    void testPreHandle_KeepsExistingVary() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.addHeader("Vary", "Origin");
+
+        interceptor.preHandle(request, response, new Object());
+
+        assertEquals(List.of("Origin", "Accept"), response.getHeaders("Vary"));
+    }
+
+    @Test
+    void testPreHandle_WildcardAndSpecificAccept_SpecificFormatWins() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Accept", "*/*, application/cbor");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+
+        assertEquals("W/\"42-cbor\"", response.getHeader("ETag"));
+        assertEquals("", CatalogETagInterceptor.representationSuffix("application/cbor;q=0.8, */*;q=0.9"));
+        assertEquals("", CatalogETagInterceptor.representationSuffix(null));
+    }
+
+    @Test
+    void testPreHandle_JsonValidatorForSmileRequest_Proceeds() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Accept", "application/x-jackson-smile");
+        request.addHeader("If-None-Match", "\"42\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+    }
+
+    @Test
+    void testPreHandle_Post_Ignored() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertNull(response.getHeader("ETag"));
+        verifyNoInteractions(catalogVersion);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.productapp.config;
+
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ProductRepository;
+import com.example.productapp.repository.ProductTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends catalog list requests through the embedded Tomcat and checks the headers that the interceptor and
+ * the server set together: compression of ETagged responses, and ETags that follow the negotiated format.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:compression;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        // The migrations are PostgreSQL-specific; the embedded database takes its schema from the entities
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.outbox.enabled=false"
+})
+class CatalogResponseHeadersTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTypeRepository productTypeRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        if (productRepository.count() > 0) {
+            return;
+        }
+        ProductType productType = productTypeRepository.save(new ProductType(null, "Compression Type"));
+        productRepository.saveAll(IntStream.range(0, 200)
+                .mapToObj(i -> new Product(null, "Compressed Product " + i, productType, new LinkedHashSet<>()))
+                .toList());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void testGetProducts_Json_Gzipped() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products", "application/json");
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    @Test
+    void testGetProducts_Smile_Gzipped() throws Exception {
+        HttpResponse<byte[]> response = get("/api/products", "application/x-jackson-smile");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    @Test
+    void testGetProducts_ETagFollowsNegotiatedFormat() throws Exception {
+        List<String> acceptHeaders = List.of("*/*", "*/*, application/cbor", "application/*, application/x-jackson-smile;q=0.9",
+                "application/json;q=0.5, application/x-jackson-smile", "application/cbor;q=0.8, */*;q=0.9", "application/*+json, */*");
+        for (String accept : acceptHeaders) {
+            HttpResponse<byte[]> response = get("/api/products", accept);
+            String contentType = response.headers().firstValue("Content-Type").orElseThrow();
+            String etag = response.headers().firstValue("ETag").orElseThrow();
+
+            String expectedSuffix = contentType.startsWith("application/x-jackson-smile") ? "-smile\""
+                    : contentType.startsWith("application/cbor") ? "-cbor\"" : "\"";
+            assertTrue(etag.endsWith(expectedSuffix) && (expectedSuffix.length() > 1 || !etag.contains("-")),
+                    "Accept: " + accept + " gave " + contentType + " with ETag " + etag);
+        }
+    }
+}
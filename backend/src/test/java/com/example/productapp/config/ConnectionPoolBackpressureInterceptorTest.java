@@ -0,0 +1,69 @@
+package com.example.productapp.config;
+
+import com.example.productapp.exception.ServiceUnavailableException;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolBackpressureInterceptorTest {
+
+    private ConnectionPoolBackpressureInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConnectionPoolBackpressureInterceptor(1, Duration.ofMillis(10));
+    }
+
+    /** TEST CASES FOR `preHandle()` **/
+
+    @Test
+    void testPreHandle_FreeSlot_Proceeds() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertEquals(0, interceptor.availablePermits());
+    }
+
+    @Test
+    void testPreHandle_NoFreeSlot_ThrowsServiceUnavailable() throws Exception {
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), new Object());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/api/colours"), response, new Object()));
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testPreHandle_AsyncDispatch_KeepsOriginalPermit() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/export");
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        assertEquals(0, interceptor.availablePermits());
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+        assertEquals(1, interceptor.availablePermits());
+    }
+
+    /** TEST CASES FOR `afterCompletion()` **/
+
+    @Test
+    void testAfterCompletion_ReleasesSlotOnce() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), new Object(), null);
+
+        assertEquals(1, interceptor.availablePermits());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.productapp.config;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final AtomicLong clock = new AtomicLong();
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        routingDataSource = new ReadWriteRoutingDataSource(Duration.ofSeconds(2), clock::get);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        routingDataSource.afterPropertiesSet();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /** TEST CASES FOR `determineCurrentLookupKey()` **/
+
+    @Test
+    void testGetConnection_ReadWriteTransaction_UsesPrimary() throws Exception {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyTransaction_UsesReplica() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testGetConnection_ReadOnlyOutsideRequest_UsesPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        RequestContextHolder.resetRequestAttributes();
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verify(replica, never()).getConnection();
+    }
+
+    /** TEST CASES FOR `onPrimary()` **/
+
+    @Test
+    void testOnPrimary_ReadOnlyRequestTransaction_UsesPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, ReadWriteRoutingDataSource.onPrimary(this::getConnection));
+        assertSame(replicaConnection, routingDataSource.getConnection());
+        verify(primary, times(1)).getConnection();
+    }
+
+    private Connection getConnection() {
+        try {
+            return routingDataSource.getConnection();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** TEST CASES FOR `onCatalogChange()` **/
+
+    @Test
+    void testOnCatalogChange_ReadsStayOnPrimaryDuringWindow() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routingDataSource.onCatalogChange(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, 1L));
+
+        clock.addAndGet(Duration.ofMillis(1999).toNanos());
+        assertEquals(ReadWriteRoutingDataSource.Route.PRIMARY, routingDataSource.determineCurrentLookupKey());
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        assertEquals(ReadWriteRoutingDataSource.Route.REPLICA, routingDataSource.determineCurrentLookupKey());
+    }
+}
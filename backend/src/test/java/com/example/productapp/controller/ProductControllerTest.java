@@ -1,19 +1,30 @@
 package com.example.productapp.controller;
 
+import com.example.productapp.dto.BulkCreateResultDTO;
+import com.example.productapp.dto.BulkItemErrorDTO;
+import com.example.productapp.dto.ColourAssignmentResultDTO;
 import com.example.productapp.dto.ProductDTO;
+import com.example.productapp.dto.ProductFilterResultDTO;
 import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.dto.ProductPageDTO;
 import com.example.productapp.exception.ResourceNotFoundException;
 import com.example.productapp.model.Product;
+import com.example.productapp.service.ProductExportService;
+import com.example.productapp.service.ProductFilterService;
 import com.example.productapp.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +34,12 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductExportService productExportService;
+
+    @Mock
+    private ProductFilterService productFilterService;
+
     @InjectMocks
     private ProductController productController;
 
@@ -64,6 +81,23 @@ class ProductControllerTest {
         assertEquals("Invalid product details", exception.getMessage());
     }
 
+    /**
+     * Test bulk product creation returns created IDs and item errors
+     */
+    @Test
+    void testCreateProducts_Success() {
+        List<ProductDTO> dtos = Arrays.asList(new ProductDTO("Laptop", 1L, List.of(1L)), new ProductDTO("", 1L, List.of(1L)));
+        BulkCreateResultDTO result = new BulkCreateResultDTO(2, 1, List.of(1L), List.of(new BulkItemErrorDTO(1, "Product name cannot be empty.")));
+
+        when(productService.createProducts(dtos)).thenReturn(result);
+
+        ResponseEntity<BulkCreateResultDTO> response = productController.createProducts(dtos);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getCreated());
+        assertEquals(1, response.getBody().getErrors().size());
+    }
+
     /**
      * Test retrieving all products successfully
      */
@@ -72,12 +106,87 @@ class ProductControllerTest {
         List<ProductListDTO> products = Arrays.asList(new ProductListDTO(1L, "Laptop", "Electronics", Arrays.asList("Black, Blue")));
         when(productService.getAllProducts()).thenReturn(products);
 
-        ResponseEntity<List<ProductListDTO>> response = productController.getAllProducts();
+        ResponseEntity<List<ProductListDTO>> response = productController.getAllProducts(null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertFalse(response.getBody().isEmpty());
     }
 
+    /**
+     * Test retrieving a page of products returns the next cursor in a header
+     */
+    @Test
+    void testGetAllProducts_Paged() {
+        List<ProductListDTO> products = Arrays.asList(new ProductListDTO(5L, "Laptop", "Electronics", Arrays.asList("Black")));
+        when(productService.getProductsPage(null, 1)).thenReturn(new ProductPageDTO(products, "next"));
+
+        ResponseEntity<List<ProductListDTO>> response = productController.getAllProducts(1, null);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().size());
+        assertEquals("next", response.getHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER));
+    }
+
+    /**
+     * Test the last page carries no next cursor
+     */
+    @Test
+    void testGetAllProducts_LastPage() {
+        when(productService.getProductsPage("cursor", ProductService.DEFAULT_PAGE_SIZE)).thenReturn(new ProductPageDTO(List.of(), null));
+
+        ResponseEntity<List<ProductListDTO>> response = productController.getAllProducts(null, "cursor");
+
+        assertTrue(response.getBody().isEmpty());
+        assertNull(response.getHeaders().getFirst(ProductController.NEXT_CURSOR_HEADER));
+    }
+
+    /**
+     * Test searching products by name
+     */
+    @Test
+    void testSearchProducts_Success() {
+        List<ProductListDTO> products = Arrays.asList(new ProductListDTO(1L, "Laptop", "Electronics", Arrays.asList("Black")));
+        when(productService.searchProducts("lap", 20)).thenReturn(products);
+
+        ResponseEntity<List<ProductListDTO>> response = productController.searchProducts("lap", 20);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().size());
+    }
+
+    /**
+     * Test filtering products by type and colour
+     */
+    @Test
+    void testFilterProducts_Success() {
+        ProductFilterResultDTO result = new ProductFilterResultDTO(1,
+                Arrays.asList(new ProductListDTO(1L, "Laptop", "Electronics", Arrays.asList("Black"))),
+                Map.of(1L, 1L), Map.of(3L, 1L, 4L, 0L));
+        when(productFilterService.filterProducts(List.of(1L), List.of(3L, 4L), "any", 50)).thenReturn(result);
+
+        ResponseEntity<ProductFilterResultDTO> response = productController.filterProducts(List.of(1L), List.of(3L, 4L), "any", 50);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getTotal());
+        assertEquals(0L, response.getBody().getColourCounts().get(4L));
+    }
+
+    /**
+     * Test exporting products streams through the export service
+     */
+    @Test
+    void testExportProducts_Success() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        when(productExportService.exportProducts(out)).thenReturn(2L);
+
+        ResponseEntity<StreamingResponseBody> response = productController.exportProducts();
+        response.getBody().writeTo(out);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        verify(productExportService, times(1)).exportProducts(out);
+    }
+
     /**
      * Test getting a product by ID successfully
      */
@@ -164,4 +273,29 @@ class ProductControllerTest {
 
         assertEquals("Product not found", exception.getMessage());
     }
+
+    /**
+     * Test attaching a colour to a product
+     */
+    @Test
+    void testAttachColour_Success() {
+        ResponseEntity<Void> response = productController.attachColour(1L, 3L);
+
+        assertEquals(204, response.getStatusCode().value());
+        verify(productService).attachColour(1L, 3L);
+    }
+
+    /**
+     * Test detaching a colour from many products
+     */
+    @Test
+    void testDetachColourFromProducts_Success() {
+        List<Long> productIds = List.of(1L, 2L);
+        when(productService.detachColour(productIds, 3L)).thenReturn(new ColourAssignmentResultDTO(2, 1));
+
+        ResponseEntity<ColourAssignmentResultDTO> response = productController.detachColourFromProducts(3L, productIds);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(1, response.getBody().getAffected());
+    }
 }
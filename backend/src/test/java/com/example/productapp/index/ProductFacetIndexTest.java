@@ -0,0 +1,110 @@
+package com.example.productapp.index;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.repository.ProductJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductFacetIndexTest {
+
+    private static final long ELECTRONICS = 1L;
+    private static final long FURNITURE = 2L;
+    private static final long BLACK = 10L;
+    private static final long WHITE = 11L;
+    private static final long RED = 12L;
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
+    private ProductFacetIndex productFacetIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productFacetIndex = new ProductFacetIndex(productJdbcRepository);
+        doAnswer(invocation -> {
+            ProductJdbcRepository.FacetRowHandler handler = invocation.getArgument(1);
+            handler.accept(1L, ELECTRONICS, BLACK);
+            handler.accept(2L, ELECTRONICS, WHITE);
+            handler.accept(3L, ELECTRONICS, BLACK);
+            handler.accept(3L, ELECTRONICS, WHITE);
+            handler.accept(4L, FURNITURE, BLACK);
+            handler.accept(5L, FURNITURE, null);
+            return null;
+        }).when(productJdbcRepository).forEachFacetRow(isNull(), any());
+        productFacetIndex.rebuild();
+    }
+
+    @Test
+    void testQuery_TypeAndAnyColour() {
+        ProductFacetIndex.FacetResult result = productFacetIndex.query(List.of(ELECTRONICS), List.of(BLACK, WHITE), false, 10);
+
+        assertTrue(productFacetIndex.isReady());
+        assertEquals(3, result.total());
+        assertEquals(List.of(3L, 2L, 1L), result.productIds());
+        assertEquals(Map.of(ELECTRONICS, 3L, FURNITURE, 1L), result.productTypeCounts());
+        assertEquals(Map.of(BLACK, 2L, WHITE, 2L), result.colourCounts());
+    }
+
+    @Test
+    void testQuery_AllColoursAndLimit() {
+        ProductFacetIndex.FacetResult result = productFacetIndex.query(List.of(), List.of(BLACK, WHITE), true, 10);
+
+        assertEquals(List.of(3L), result.productIds());
+
+        ProductFacetIndex.FacetResult limited = productFacetIndex.query(List.of(), List.of(), false, 2);
+
+        assertEquals(5, limited.total());
+        assertEquals(List.of(5L, 4L), limited.productIds());
+        assertEquals(Map.of(BLACK, 3L, WHITE, 2L), limited.colourCounts());
+    }
+
+    @Test
+    void testRefresh_ReplacesBitsOfChangedProducts() {
+        doAnswer(invocation -> {
+            ProductJdbcRepository.FacetRowHandler handler = invocation.getArgument(1);
+            handler.accept(1L, FURNITURE, RED);
+            handler.accept(6L, ELECTRONICS, BLACK);
+            return null;
+        }).when(productJdbcRepository).forEachFacetRow(eq(List.of(1L, 6L)), any());
+
+        productFacetIndex.refresh(List.of(1L, 6L));
+
+        assertEquals(List.of(6L, 3L), productFacetIndex.query(List.of(ELECTRONICS), List.of(BLACK), false, 10).productIds());
+        assertEquals(List.of(1L), productFacetIndex.query(List.of(), List.of(RED), false, 10).productIds());
+    }
+
+    @Test
+    void testOnCatalogChange_IgnoresOtherEntityUpdates() {
+        productFacetIndex.onCatalogChange(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.UPDATED, BLACK));
+
+        assertEquals(3, productFacetIndex.query(List.of(), List.of(BLACK), false, 10).total());
+        verify(productJdbcRepository, times(1)).forEachFacetRow(any(), any());
+    }
+
+    @Test
+    void testCountByColourAndProductType_FromBitmaps() {
+        assertEquals(3, productFacetIndex.countByColour(BLACK));
+        assertEquals(0, productFacetIndex.countByColour(RED));
+        assertEquals(2, productFacetIndex.countByProductType(FURNITURE));
+        verify(productJdbcRepository, never()).countByColour(anyLong());
+    }
+
+    @Test
+    void testCountByColour_BeforeBuild_QueriesDatabase() {
+        ProductFacetIndex unbuilt = new ProductFacetIndex(productJdbcRepository);
+        when(productJdbcRepository.countByColour(BLACK)).thenReturn(7L);
+
+        assertEquals(7, unbuilt.countByColour(BLACK));
+    }
+}
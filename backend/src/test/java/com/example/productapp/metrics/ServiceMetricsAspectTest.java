@@ -0,0 +1,79 @@
+package com.example.productapp.metrics;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.index.ProductFacetIndex;
+import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductJdbcRepository;
+import com.example.productapp.service.ColourService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private ColourRepository colourRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductFacetIndex productFacetIndex;
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ColourService colourService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new ColourService(colourRepository, referenceDataCache, eventPublisher, productFacetIndex, productJdbcRepository));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        colourService = proxyFactory.getProxy();
+    }
+
+    /** TEST CASES FOR `time()` **/
+
+    @Test
+    void testTime_Success_RecordsTimer() {
+        when(referenceDataCache.getAllColours()).thenReturn(List.of());
+
+        colourService.getAllColours();
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tags("service", "ColourService", "method", "getAllColours", "exception", "none")
+                .timer().count());
+        assertTrue(meterRegistry.find(ServiceMetricsAspect.ERROR_COUNTER_NAME).counters().isEmpty());
+    }
+
+    @Test
+    void testTime_Failure_RecordsTimerAndErrorCounter() {
+        when(colourRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> colourService.deleteColour(99L));
+
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tags("method", "deleteColour", "exception", "ResourceNotFoundException")
+                .timer().count());
+        assertEquals(1.0, meterRegistry.get(ServiceMetricsAspect.ERROR_COUNTER_NAME)
+                .tags("service", "ColourService", "method", "deleteColour")
+                .counter().count());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.productapp.metrics;
+
+import com.example.productapp.dto.SqlStatementStatsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementStatsTest {
+
+    private SqlStatementStats sqlStatementStats;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementStats = new SqlStatementStats(3);
+    }
+
+    /** TEST CASES FOR `shapeOf()` **/
+
+    @Test
+    void testShapeOf_ReplacesLiterals() {
+        assertEquals("select * from product p1_0 where p1_0.id=? and p1_0.name=?",
+                SqlStatementStats.shapeOf("select * from product p1_0 where p1_0.id=42 and p1_0.name='O''Brien'"));
+    }
+
+    @Test
+    void testShapeOf_CollapsesInListsAndTuples() {
+        assertEquals("select * from colour where id in (?)",
+                SqlStatementStats.shapeOf("select * from colour where id in (?, ?, ?)"));
+        assertEquals("insert into product_colour (product_id, colour_id) values (?)",
+                SqlStatementStats.shapeOf("insert into product_colour (product_id, colour_id)\n values (?, ?), (?, ?), (?, ?)"));
+    }
+
+    /** TEST CASES FOR `record()` AND `getSlowest()` **/
+
+    @Test
+    void testRecord_GroupsByShapeAndSortsSlowestFirst() {
+        sqlStatementStats.record("select * from product where id=1", 5);
+        sqlStatementStats.record("select * from product where id=2", 15);
+        sqlStatementStats.record("select * from colour", 40);
+
+        List<SqlStatementStatsDTO> slowest = sqlStatementStats.getSlowest(10);
+
+        assertEquals(2, slowest.size());
+        assertEquals("select * from colour", slowest.get(0).getSql());
+        assertEquals("select * from product where id=?", slowest.get(1).getSql());
+        assertEquals(2, slowest.get(1).getExecutions());
+        assertEquals(20, slowest.get(1).getTotalMillis());
+        assertEquals(15, slowest.get(1).getMaxMillis());
+        assertEquals(10.0, slowest.get(1).getMeanMillis());
+    }
+
+    @Test
+    void testRecord_BeyondMaxShapes_CountedAsOther() {
+        for (int i = 0; i < 5; i++) {
+            sqlStatementStats.record("select * from table_" + (char) ('a' + i), 1);
+        }
+
+        List<SqlStatementStatsDTO> slowest = sqlStatementStats.getSlowest(10);
+
+        assertEquals(4, slowest.size());
+        assertTrue(slowest.stream().anyMatch(stats -> stats.getSql().equals(SqlStatementStats.OTHER_SHAPE)
+                && stats.getExecutions() == 2));
+    }
+
+    /** TEST CASES FOR `reset()` **/
+
+    @Test
+    void testReset_ForgetsStatements() {
+        sqlStatementStats.record("select 1", 1);
+
+        sqlStatementStats.reset();
+
+        assertTrue(sqlStatementStats.getSlowest(10).isEmpty());
+    }
+}
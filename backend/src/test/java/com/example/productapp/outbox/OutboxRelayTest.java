@@ -0,0 +1,86 @@
+package com.example.productapp.outbox;
+
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxPublisher outboxPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxRepository, outboxPublisher, transactionManager, meterRegistry, 2, Duration.ofSeconds(1));
+    }
+
+    /** TEST CASES FOR `relayBatch()` **/
+
+    @Test
+    void testRelayBatch_PublishesThenDeletes() throws Exception {
+        List<OutboxMessage> batch = List.of(
+                new OutboxMessage(1L, CatalogEntity.PRODUCT, ChangeType.CREATED, List.of(10L), Instant.now()),
+                new OutboxMessage(2L, CatalogEntity.COLOUR, ChangeType.DELETED, List.of(3L), Instant.now()));
+        when(outboxRepository.lockOldest(2)).thenReturn(batch);
+
+        assertEquals(2, outboxRelay.relayBatch());
+
+        InOrder inOrder = inOrder(outboxPublisher, outboxRepository, transactionManager);
+        inOrder.verify(outboxPublisher).publish(batch);
+        inOrder.verify(outboxRepository).delete(List.of(1L, 2L));
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(2.0, meterRegistry.get("catalog.outbox.published").counter().count());
+    }
+
+    @Test
+    void testRelayBatch_EmptyOutbox() throws Exception {
+        when(outboxRepository.lockOldest(2)).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+
+        verify(outboxPublisher, never()).publish(any());
+        verify(outboxRepository, never()).delete(any());
+    }
+
+    @Test
+    void testRelayBatch_PublishFails_KeepsMessages() throws Exception {
+        List<OutboxMessage> batch = List.of(new OutboxMessage(1L, CatalogEntity.PRODUCT, ChangeType.UPDATED, null, Instant.now()));
+        when(outboxRepository.lockOldest(2)).thenReturn(batch);
+        doThrow(new IOException("disk full")).when(outboxPublisher).publish(batch);
+
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relayBatch());
+
+        verify(outboxRepository, never()).delete(any());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(0.0, meterRegistry.get("catalog.outbox.published").counter().count());
+    }
+}
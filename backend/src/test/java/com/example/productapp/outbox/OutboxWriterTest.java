@@ -0,0 +1,56 @@
+package com.example.productapp.outbox;
+
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.repository.OutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxWriterTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @InjectMocks
+    private OutboxWriter outboxWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    /** TEST CASES FOR `onCatalogChange()` **/
+
+    @Test
+    void testOnCatalogChange_InsideTransaction_Inserts() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        outboxWriter.onCatalogChange(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.CREATED, List.of(1L, 2L)));
+
+        verify(outboxRepository).insert(CatalogEntity.PRODUCT, ChangeType.CREATED, List.of(1L, 2L));
+    }
+
+    @Test
+    void testOnCatalogChange_OutsideTransaction_Fails() {
+        assertThrows(IllegalStateException.class,
+                () -> outboxWriter.onCatalogChange(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.DELETED, 3L)));
+
+        verifyNoInteractions(outboxRepository);
+    }
+}
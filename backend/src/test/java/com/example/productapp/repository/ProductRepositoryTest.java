@@ -0,0 +1,85 @@
+package com.example.productapp.repository;
+
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the listing queries against an embedded database and checks their statement count.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The migrations are PostgreSQL-specific; the embedded database takes its schema from the entities
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private ProductType productType;
+    private List<Colour> colours;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        productType = entityManager.persist(new ProductType(null, "Test Type"));
+        colours = List.of(entityManager.persist(new Colour(null, "Test Black")), entityManager.persist(new Colour(null, "Test White")));
+    }
+
+    private void createProducts(int count) {
+        for (int i = 0; i < count; i++) {
+            entityManager.persist(new Product(null, "Product " + i, productType, new LinkedHashSet<>(colours)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindListRows_SingleStatementForAnyCatalogSize() {
+        createProducts(5);
+        assertEquals(10, productRepository.findListRows().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        createProducts(95);
+        assertEquals(200, productRepository.findListRows().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindListRowsBefore_ReturnsOnePageInOneStatement() {
+        createProducts(20);
+
+        List<Object[]> rows = productRepository.findListRowsBefore(Long.MAX_VALUE, 3);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(6, rows.size());
+        long lastId = ((Number) rows.get(rows.size() - 1)[0]).longValue();
+        assertTrue(rows.stream().allMatch(row -> ((Number) row[0]).longValue() >= lastId));
+
+        List<Object[]> nextRows = productRepository.findListRowsBefore(lastId, 3);
+        assertTrue(nextRows.stream().allMatch(row -> ((Number) row[0]).longValue() < lastId));
+    }
+}
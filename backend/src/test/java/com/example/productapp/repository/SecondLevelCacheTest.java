@@ -0,0 +1,162 @@
+package com.example.productapp.repository;
+
+import com.example.productapp.cache.SecondLevelCache;
+import com.example.productapp.dto.EntityCacheStatsDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reads entities across sessions against an embedded database and checks the second-level cache counters.
+ * Each read runs in its own committed transaction, as in the application: read-write regions do not serve
+ * entries to the session that was already open when they were cached.
+ */
+@DataJpaTest(properties = {
+        // The migrations are PostgreSQL-specific; the embedded database takes its schema from the entities
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(SecondLevelCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCache secondLevelCache;
+
+    private Statistics statistics;
+    private Cache cache;
+    private Colour black;
+    private Product first;
+    private Product second;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        statistics = sessionFactory.getStatistics();
+        cache = sessionFactory.getCache();
+
+        inSession(entityManager -> {
+            ProductType productType = new ProductType(null, "Cache Type");
+            entityManager.persist(productType);
+            black = new Colour(null, "Cache Black");
+            entityManager.persist(black);
+            Colour white = new Colour(null, "Cache White");
+            entityManager.persist(white);
+            first = new Product(null, "Cached 1", productType, new LinkedHashSet<>(List.of(black, white)));
+            entityManager.persist(first);
+            second = new Product(null, "Cached 2", productType, new LinkedHashSet<>(List.of(black)));
+            entityManager.persist(second);
+            return null;
+        });
+
+        cache.evictAllRegions();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        inSession(entityManager -> {
+            entityManager.createQuery("DELETE FROM Product").executeUpdate();
+            entityManager.createQuery("DELETE FROM Colour").executeUpdate();
+            entityManager.createQuery("DELETE FROM ProductType").executeUpdate();
+            return null;
+        });
+        cache.evictAllRegions();
+    }
+
+    private <T> T inSession(Function<EntityManager, T> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            T result = work.apply(entityManager);
+            entityManager.getTransaction().commit();
+            return result;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private int loadColourCount(Product product) {
+        return inSession(entityManager -> entityManager.find(Product.class, product.getId()).getColours().size());
+    }
+
+    @Test
+    void testFindColour_LaterSessionsHitCache() {
+        for (int session = 0; session < 5; session++) {
+            assertEquals("Cache Black", inSession(entityManager -> entityManager.find(Colour.class, black.getId()).getName()));
+        }
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics("colour").getMissCount());
+        assertEquals(4, statistics.getDomainDataRegionStatistics("colour").getHitCount());
+    }
+
+    @Test
+    void testProductColours_LaterSessionsHitCache() {
+        assertEquals(2, loadColourCount(first));
+        assertEquals(2, loadColourCount(first));
+        assertEquals(2, loadColourCount(first));
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics("product-colours").getMissCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics("product-colours").getHitCount());
+        // Colours of the cached sets are resolved from the colour region as well
+        assertEquals(4, statistics.getDomainDataRegionStatistics("colour").getHitCount());
+    }
+
+    /** TEST CASES FOR `onCatalogChange()` **/
+
+    @Test
+    void testOnCatalogChange_EvictsColoursOfChangedProductsOnly() {
+        loadColourCount(first);
+        loadColourCount(second);
+
+        secondLevelCache.onCatalogChange(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, first.getId()));
+
+        assertFalse(cache.containsCollection(Product.COLOURS_CACHE_ROLE, first.getId()));
+        assertTrue(cache.containsCollection(Product.COLOURS_CACHE_ROLE, second.getId()));
+    }
+
+    @Test
+    void testOnCatalogChange_WideChangeEvictsAllColourSets() {
+        loadColourCount(first);
+        loadColourCount(second);
+
+        secondLevelCache.onCatalogChange(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+
+        assertFalse(cache.containsCollection(Product.COLOURS_CACHE_ROLE, first.getId()));
+        assertFalse(cache.containsCollection(Product.COLOURS_CACHE_ROLE, second.getId()));
+        assertTrue(cache.containsEntity(Colour.class, black.getId()));
+    }
+
+    @Test
+    void testGetStats_ReportsEveryRegion() {
+        loadColourCount(first);
+
+        assertEquals(List.of("colour", "product-colours", "product-type"),
+                secondLevelCache.getStats().stream().map(EntityCacheStatsDTO::getRegion).toList());
+    }
+}
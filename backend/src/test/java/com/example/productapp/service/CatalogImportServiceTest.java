@@ -0,0 +1,97 @@
+package com.example.productapp.service;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.ImportStatusDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.CatalogImportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogImportServiceTest {
+
+    @Mock
+    private CatalogImportRepository catalogImportRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogImportRepository.StagingWriter stagingWriter;
+
+    @InjectMocks
+    private CatalogImportService catalogImportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(referenceDataCache.getAllProductTypes()).thenReturn(Arrays.asList(new ProductType(1L, "Electronics")));
+        when(referenceDataCache.getAllColours()).thenReturn(Arrays.asList(new Colour(1L, "Black"), new Colour(2L, "White")));
+        when(catalogImportRepository.openStagingWriter()).thenReturn(stagingWriter);
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** TEST CASES FOR `importCsv()` **/
+
+    @Test
+    void testImportCsv_StagesValidRowsAndRejectsInvalidOnes() throws Exception {
+        when(catalogImportRepository.mergeStagedProducts()).thenReturn(2);
+
+        ImportStatusDTO result = catalogImportService.importCsv(csv("""
+                name,productType,colours
+                Laptop,electronics,Black|white
+                Phone,Electronics,
+                Chair,Furniture,Black
+                ,Electronics,Black
+                Tablet,Electronics,Purple
+                """));
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(5, result.getRowsRead());
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals("Unknown product type: Furniture", result.getRejections().get(0).getReason());
+        assertEquals(4, result.getRejections().get(0).getLine());
+        assertEquals("Product name cannot be empty.", result.getRejections().get(1).getReason());
+        assertEquals("Unknown colour: Purple", result.getRejections().get(2).getReason());
+        verify(catalogImportRepository).createStagingTable();
+        verify(stagingWriter).write(2L, "Laptop", 1L, Set.of(1L, 2L));
+        verify(stagingWriter).write(3L, "Phone", 1L, Set.of());
+        verify(stagingWriter).finish();
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+        assertEquals(1, catalogImportService.getRecentImports().size());
+    }
+
+    @Test
+    void testImportCsv_MissingColumn() throws Exception {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            catalogImportService.importCsv(csv("name,productType\nLaptop,Electronics\n"));
+        });
+
+        assertEquals("CSV header must contain the columns: name, productType, colours", exception.getMessage());
+        verify(catalogImportRepository, never()).mergeStagedProducts();
+        verifyNoInteractions(eventPublisher);
+        assertEquals("FAILED", catalogImportService.getRecentImports().get(0).getStatus());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.productapp.service;
+
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.ColourMergeResultDTO;
+import com.example.productapp.dto.RetypeRequestDTO;
+import com.example.productapp.dto.RetypeResultDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.model.Colour;
+import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ProductJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogMaintenanceServiceTest {
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ColourService colourService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CatalogMaintenanceService catalogMaintenanceService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /** TEST CASES FOR `mergeColours()` **/
+
+    @Test
+    void testMergeColours_Success() {
+        when(referenceDataCache.findColours(List.of(1L))).thenReturn(List.of(new Colour(1L, "Navy")));
+        when(referenceDataCache.findColours(List.of(2L))).thenReturn(List.of(new Colour(2L, "Blue")));
+        when(productJdbcRepository.reassignColour(1L, 2L)).thenReturn(42);
+
+        ColourMergeResultDTO result = catalogMaintenanceService.mergeColours(1L, 2L, true);
+
+        assertEquals(42, result.getProductsUpdated());
+        assertTrue(result.isSourceDeleted());
+        verify(colourService).removeColour(1L);
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+    }
+
+    @Test
+    void testMergeColours_IntoItself() {
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> catalogMaintenanceService.mergeColours(1L, 1L, false));
+
+        assertEquals("A colour cannot be merged into itself.", exception.getMessage());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
+    @Test
+    void testMergeColours_TargetNotFound() {
+        when(referenceDataCache.findColours(List.of(1L))).thenReturn(List.of(new Colour(1L, "Navy")));
+        when(referenceDataCache.findColours(List.of(99L))).thenReturn(List.of());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class,
+                () -> catalogMaintenanceService.mergeColours(1L, 99L, false));
+
+        assertEquals("Colour not found with ID: 99", exception.getMessage());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
+    /** TEST CASES FOR `retypeProducts()` **/
+
+    @Test
+    void testRetypeProducts_Success() {
+        RetypeRequestDTO request = new RetypeRequestDTO(2L, List.of(1L), null, " Chair_");
+        when(referenceDataCache.findProductType(2L)).thenReturn(Optional.of(new ProductType(2L, "Furniture")));
+        when(productJdbcRepository.retypeProducts(2L, List.of(1L), null, "%chair\\_%")).thenReturn(7);
+
+        RetypeResultDTO result = catalogMaintenanceService.retypeProducts(request);
+
+        assertEquals(7, result.getProductsUpdated());
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+    }
+
+    @Test
+    void testRetypeProducts_NoFilter() {
+        RetypeRequestDTO request = new RetypeRequestDTO(2L, List.of(), null, " ");
+
+        Exception exception = assertThrows(IllegalArgumentException.class,
+                () -> catalogMaintenanceService.retypeProducts(request));
+
+        assertEquals("Please provide at least one of productTypeIds, colourIds or nameContains.", exception.getMessage());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
+    @Test
+    void testRetypeProducts_NothingMatched_NoEvent() {
+        RetypeRequestDTO request = new RetypeRequestDTO(2L, null, List.of(5L), null);
+        when(referenceDataCache.findProductType(2L)).thenReturn(Optional.of(new ProductType(2L, "Furniture")));
+        when(productJdbcRepository.retypeProducts(2L, null, List.of(5L), null)).thenReturn(0);
+
+        assertEquals(0, catalogMaintenanceService.retypeProducts(request).getProductsUpdated());
+        verifyNoInteractions(eventPublisher);
+    }
+}
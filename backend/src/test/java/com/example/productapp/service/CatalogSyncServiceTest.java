@@ -0,0 +1,93 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.SyncDTO;
+import com.example.productapp.dto.SyncProductDTO;
+import com.example.productapp.dto.TombstoneDTO;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.model.Colour;
+import com.example.productapp.repository.CatalogSyncRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogSyncServiceTest {
+
+    @Mock
+    private CatalogSyncRepository catalogSyncRepository;
+
+    private CatalogSyncService catalogSyncService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        catalogSyncService = new CatalogSyncService(catalogSyncRepository, Duration.ofDays(30), Duration.ofHours(1));
+    }
+
+    /** TEST CASES FOR `getChangesSince()` **/
+
+    @Test
+    void testGetChangesSince_ReturnsChangesAndStableVersion() {
+        when(catalogSyncRepository.findStableVersion()).thenReturn(120L);
+        when(catalogSyncRepository.findProductsSince(100L)).thenReturn(List.of(new SyncProductDTO(5L, "Lamp", 2L, List.of(3L))));
+        when(catalogSyncRepository.findColoursSince(100L)).thenReturn(List.of(new Colour(3L, "Red")));
+        when(catalogSyncRepository.findProductTypesSince(100L)).thenReturn(List.of());
+        when(catalogSyncRepository.findDeletedSince(100L)).thenReturn(List.of(new TombstoneDTO(CatalogEntity.PRODUCT, 4L)));
+
+        SyncDTO changes = catalogSyncService.getChangesSince(100L);
+
+        assertEquals(120L, changes.getVersion());
+        assertEquals(1, changes.getProducts().size());
+        assertEquals(List.of(new Colour(3L, "Red")), changes.getColours());
+        assertEquals(List.of(new TombstoneDTO(CatalogEntity.PRODUCT, 4L)), changes.getDeleted());
+        assertFalse(changes.isReset());
+    }
+
+    @Test
+    void testGetChangesSince_VersionBeforePrunedTombstones_Resets() {
+        when(catalogSyncRepository.findStableVersion()).thenReturn(120L);
+        when(catalogSyncRepository.findPrunedVersion()).thenReturn(90L);
+
+        SyncDTO changes = catalogSyncService.getChangesSince(80L);
+
+        assertTrue(changes.isReset());
+        assertEquals(120L, changes.getVersion());
+        verify(catalogSyncRepository).findProductsSince(0L);
+        verify(catalogSyncRepository, never()).findDeletedSince(anyLong());
+    }
+
+    @Test
+    void testGetChangesSince_FullSyncSkipsTombstones() {
+        when(catalogSyncRepository.findStableVersion()).thenReturn(120L);
+
+        SyncDTO changes = catalogSyncService.getChangesSince(0L);
+
+        assertTrue(changes.getDeleted().isEmpty());
+        verify(catalogSyncRepository, never()).findDeletedSince(anyLong());
+    }
+
+    @Test
+    void testGetChangesSince_NegativeVersion() {
+        assertThrows(IllegalArgumentException.class, () -> catalogSyncService.getChangesSince(-1L));
+        verifyNoInteractions(catalogSyncRepository);
+    }
+
+    /** TEST CASES FOR `pruneTombstones()` **/
+
+    @Test
+    void testPruneTombstones_UsesRetentionCutoff() {
+        Instant before = Instant.now().minus(Duration.ofDays(30));
+
+        catalogSyncService.pruneTombstones();
+
+        verify(catalogSyncRepository).pruneTombstones(argThat(cutoff -> !cutoff.isBefore(before)
+                && cutoff.isBefore(Instant.now().minus(Duration.ofDays(29)))));
+    }
+}
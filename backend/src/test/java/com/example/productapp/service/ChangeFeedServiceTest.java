@@ -0,0 +1,77 @@
+package com.example.productapp.service;
+
+import com.example.productapp.dto.ChangeEventDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
+import com.example.productapp.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeFeedServiceTest {
+
+    private static CatalogChangeEvent productUpdated(long id) {
+        return CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, id);
+    }
+
+    /** TEST CASES FOR `eventsAfter()` **/
+
+    @Test
+    void testEventsAfter_ReturnsMissedChangesInOrder() {
+        ChangeFeedService service = new ChangeFeedService(10, 10, 10, Runnable::run);
+        long start = service.currentVersion();
+        service.onCatalogChange(productUpdated(1L));
+        service.onCatalogChange(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.DELETED, 7L));
+        service.onCatalogChange(CatalogChangeEvent.allChanged(CatalogEntity.PRODUCT));
+
+        List<ChangeEventDTO> missed = service.eventsAfter(start + 1).orElseThrow();
+
+        assertEquals(2, missed.size());
+        assertEquals(new ChangeEventDTO(start + 2, CatalogEntity.COLOUR, ChangeType.DELETED, List.of(7L)), missed.get(0));
+        assertNull(missed.get(1).getIds());
+        assertEquals(List.of(), service.eventsAfter(start + 3).orElseThrow());
+    }
+
+    @Test
+    void testEventsAfter_OverwrittenOrUnknownVersion_Empty() {
+        ChangeFeedService service = new ChangeFeedService(2, 10, 10, Runnable::run);
+        long start = service.currentVersion();
+        service.onCatalogChange(productUpdated(1L));
+        service.onCatalogChange(productUpdated(2L));
+        service.onCatalogChange(productUpdated(3L));
+
+        assertEquals(Optional.empty(), service.eventsAfter(start));
+        assertEquals(List.of(2L, 3L), service.eventsAfter(start + 1).orElseThrow().stream()
+                .map(change -> change.getIds().get(0)).toList());
+        assertEquals(Optional.empty(), service.eventsAfter(start + 4));
+    }
+
+    /** TEST CASES FOR `subscribe()` **/
+
+    @Test
+    void testSubscribe_SlowSubscriberEvicted() {
+        // Nothing is ever sent, so the subscriber's queue only fills up
+        ChangeFeedService service = new ChangeFeedService(10, 2, 10, task -> { });
+        service.subscribe(null);
+        service.onCatalogChange(productUpdated(1L));
+        service.onCatalogChange(productUpdated(2L));
+
+        assertEquals(1, service.subscriberCount());
+
+        service.onCatalogChange(productUpdated(3L));
+
+        assertEquals(0, service.subscriberCount());
+    }
+
+    @Test
+    void testSubscribe_TooManySubscribers() {
+        ChangeFeedService service = new ChangeFeedService(10, 10, 1, Runnable::run);
+        service.subscribe(null);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.subscribe(null));
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.productapp.service;
 
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.UsageDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
 import com.example.productapp.exception.CustomException;
 import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.index.ProductFacetIndex;
 import com.example.productapp.model.Colour;
 import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductJdbcRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
@@ -23,6 +31,18 @@ class ColourServiceTest {
     @Mock
     private ColourRepository colourRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductFacetIndex productFacetIndex;
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
     @InjectMocks
     private ColourService colourService;
 
@@ -36,7 +56,7 @@ class ColourServiceTest {
     @Test
     void testGetAllColours_Success() {
         List<Colour> colours = Arrays.asList(new Colour(1L, "Red"), new Colour(2L, "Blue"));
-        when(colourRepository.findAll()).thenReturn(colours);
+        when(referenceDataCache.getAllColours()).thenReturn(colours);
 
         List<Colour> result = colourService.getAllColours();
 
@@ -55,6 +75,7 @@ class ColourServiceTest {
 
         assertNotNull(result);
         assertEquals("Green", result.getName());
+        verify(referenceDataCache, times(1)).invalidateColours();
     }
 
     @Test
@@ -74,6 +95,7 @@ class ColourServiceTest {
         doNothing().when(colourRepository).deleteById(1L);
 
         assertDoesNotThrow(() -> colourService.deleteColour(1L));
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.COLOUR, ChangeType.DELETED, 1L));
     }
 
     @Test
@@ -84,6 +106,48 @@ class ColourServiceTest {
         assertEquals("Colour not found with ID: 99", exception.getMessage());
     }
 
+    @Test
+    void testDeleteColour_InUse_RejectedFromUsageCount() {
+        when(colourRepository.existsById(1L)).thenReturn(true);
+        when(productFacetIndex.countByColour(1L)).thenReturn(3L);
+        when(productJdbcRepository.countByColour(1L)).thenReturn(3L);
+
+        Exception exception = assertThrows(CustomException.class, () -> colourService.deleteColour(1L));
+
+        assertEquals("Cannot delete colour. It is assigned to 3 products. Please remove it from those products first.", exception.getMessage());
+        verify(colourRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void testDeleteColour_StaleUsageCount_ConfirmedBeforeRejecting() {
+        when(colourRepository.existsById(1L)).thenReturn(true);
+        when(productFacetIndex.countByColour(1L)).thenReturn(1L);
+        when(productJdbcRepository.countByColour(1L)).thenReturn(0L);
+
+        assertDoesNotThrow(() -> colourService.deleteColour(1L));
+        verify(colourRepository).deleteById(1L);
+    }
+
+    /** TEST CASES FOR `getColourUsage()` **/
+
+    @Test
+    void testGetColourUsage_Success() {
+        when(referenceDataCache.findColours(List.of(1L))).thenReturn(List.of(new Colour(1L, "Red")));
+        when(productFacetIndex.countByColour(1L)).thenReturn(12L);
+
+        UsageDTO usage = colourService.getColourUsage(1L);
+
+        assertEquals(1L, usage.getId());
+        assertEquals(12L, usage.getProductCount());
+    }
+
+    @Test
+    void testGetColourUsage_NotFound() {
+        when(referenceDataCache.findColours(List.of(99L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> colourService.getColourUsage(99L));
+    }
+
     @Test
     void testDeleteColour_ConstraintViolation() {
         when(colourRepository.existsById(1L)).thenReturn(true);
@@ -91,6 +155,7 @@ class ColourServiceTest {
 
         Exception exception = assertThrows(CustomException.class, () -> colourService.deleteColour(1L));
         assertEquals("Cannot delete colour. It is assigned to active products. Please remove it from those products first.", exception.getMessage());
+        verify(referenceDataCache, never()).invalidateColours();
     }
 
     /** TEST CASES FOR `updateColour()` **/
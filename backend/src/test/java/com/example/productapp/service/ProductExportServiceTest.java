@@ -0,0 +1,57 @@
+package com.example.productapp.service;
+
+import com.example.productapp.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductExportService productExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productExportService = new ProductExportService(productRepository, new ObjectMapper());
+    }
+
+    /** TEST CASES FOR `exportProducts()` **/
+
+    @Test
+    void testExportProducts_WritesOneLinePerProduct() throws Exception {
+        when(productRepository.streamListRows()).thenReturn(Stream.of(
+                new Object[]{2L, "Laptop", "Electronics", "Black"},
+                new Object[]{2L, "Laptop", "Electronics", "Blue"},
+                new Object[]{1L, "Chair", "Furniture", null}));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = productExportService.exportProducts(out);
+
+        assertEquals(2, count);
+        assertEquals("""
+                {"id":2,"name":"Laptop","productType":"Electronics","colours":["Black","Blue"]}
+                {"id":1,"name":"Chair","productType":"Furniture","colours":[]}
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportProducts_EmptyCatalog() throws Exception {
+        when(productRepository.streamListRows()).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, productExportService.exportProducts(out));
+        assertEquals(0, out.size());
+    }
+}
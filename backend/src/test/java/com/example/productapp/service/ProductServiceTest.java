@@ -1,23 +1,36 @@
 package com.example.productapp.service;
 
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.BulkCreateResultDTO;
+import com.example.productapp.dto.BulkItemErrorDTO;
+import com.example.productapp.dto.ColourAssignmentResultDTO;
 import com.example.productapp.dto.ProductDTO;
 import com.example.productapp.dto.ProductListDTO;
+import com.example.productapp.dto.ProductPageDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
 import com.example.productapp.exception.ResourceNotFoundException;
 import com.example.productapp.model.Colour;
 import com.example.productapp.model.Product;
+import com.example.productapp.model.ProductField;
 import com.example.productapp.model.ProductType;
-import com.example.productapp.repository.ColourRepository;
+import com.example.productapp.repository.ProductJdbcRepository;
 import com.example.productapp.repository.ProductRepository;
-import com.example.productapp.repository.ProductTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,17 +41,20 @@ public class ProductServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private ProductTypeRepository productTypeRepository;
+    private ProductJdbcRepository productJdbcRepository;
 
     @Mock
-    private ColourRepository colourRepository;
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
-    @InjectMocks
     private ProductService productService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        productService = new ProductService(productRepository, productJdbcRepository, referenceDataCache, eventPublisher, 5);
     }
 
     /** TEST CASES FOR `createProduct()` **/
@@ -48,23 +64,24 @@ public class ProductServiceTest {
         ProductDTO dto = new ProductDTO("Laptop", 1L, Arrays.asList(1L, 2L));
         ProductType productType = new ProductType(1L, "Electronics");
         List<Colour> colours = Arrays.asList(new Colour(1L, "Black"), new Colour(2L, "Blue"));
-        Product product = new Product(1L, "Laptop", productType, colours);
+        Product product = new Product(1L, "Laptop", productType, new LinkedHashSet<>(colours));
 
-        when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
-        when(colourRepository.findAllById(dto.getColourIds())).thenReturn(colours);
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findColours(dto.getColourIds())).thenReturn(colours);
         when(productRepository.save(any(Product.class))).thenReturn(product);
 
         Product result = productService.createProduct(dto);
 
         assertNotNull(result);
         assertEquals("Laptop", result.getName());
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.CREATED, 1L));
     }
 
     @Test
     void testCreateProduct_ProductTypeNotFound() {
         ProductDTO dto = new ProductDTO("Laptop", 99L, Arrays.asList(1L, 2L));
 
-        when(productTypeRepository.findById(99L)).thenReturn(Optional.empty());
+        when(referenceDataCache.findProductType(99L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
             productService.createProduct(dto);
@@ -79,8 +96,8 @@ public class ProductServiceTest {
         ProductType productType = new ProductType(1L, "Electronics");
         List<Colour> validColours = Arrays.asList(new Colour(1L, "Black"));
 
-        when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
-        when(colourRepository.findAllById(dto.getColourIds())).thenReturn(validColours);
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findColours(dto.getColourIds())).thenReturn(validColours);
 
         Exception exception = assertThrows(IllegalArgumentException.class, () -> {
             productService.createProduct(dto);
@@ -112,6 +129,99 @@ public class ProductServiceTest {
     }
 
 
+    /** TEST CASES FOR `createProducts()` **/
+
+    @Test
+    void testCreateProducts_InsertsValidItemsAndReportsInvalidOnes() {
+        ProductType productType = new ProductType(1L, "Electronics");
+        List<Colour> colours = Arrays.asList(new Colour(1L, "Black"));
+        List<ProductDTO> dtos = Arrays.asList(
+                new ProductDTO("Laptop", 1L, List.of(1L)),
+                new ProductDTO("", 1L, List.of(1L)),
+                new ProductDTO("Phone", 99L, List.of(1L)),
+                new ProductDTO("Tablet", 1L, List.of(1L)));
+
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findProductType(99L)).thenReturn(Optional.empty());
+        when(referenceDataCache.findColours(List.of(1L))).thenReturn(colours);
+        when(productJdbcRepository.insertAll(anyList(), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<Long>> onChunkInserted = invocation.getArgument(1);
+            onChunkInserted.accept(List.of(10L, 11L));
+            return List.of(10L, 11L);
+        });
+
+        BulkCreateResultDTO result = productService.createProducts(dtos);
+
+        assertEquals(4, result.getRequested());
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(10L, 11L), result.getCreatedIds());
+        assertEquals(2, result.getErrors().size());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals("Product name cannot be empty.", result.getErrors().get(0).getMessage());
+        assertEquals(2, result.getErrors().get(1).getIndex());
+        assertEquals("Product Type not found with ID: 99", result.getErrors().get(1).getMessage());
+        verify(productJdbcRepository, times(1)).insertAll(argThat(products -> products.size() == 2), any(), any());
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.CREATED, List.of(10L, 11L)));
+    }
+
+    @Test
+    void testCreateProducts_FailingChunkReportedWithCommittedIds() {
+        ProductType productType = new ProductType(1L, "Electronics");
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findColours(List.of())).thenReturn(List.of());
+        when(productJdbcRepository.insertAll(anyList(), any(), any())).thenAnswer(invocation -> {
+            Consumer<List<Long>> onChunkInserted = invocation.getArgument(1);
+            ProductJdbcRepository.ChunkFailureHandler onChunkFailed = invocation.getArgument(2);
+            onChunkInserted.accept(List.of(10L, 11L));
+            onChunkFailed.accept(2, 3, new DataIntegrityViolationException("second chunk failed"));
+            return List.of(10L, 11L);
+        });
+
+        List<ProductDTO> dtos = List.of(new ProductDTO("Laptop", 1L, List.of()), new ProductDTO("", 1L, List.of()),
+                new ProductDTO("Phone", 1L, List.of()), new ProductDTO("Tablet", 1L, List.of()));
+        BulkCreateResultDTO result = productService.createProducts(dtos);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of(10L, 11L), result.getCreatedIds());
+        assertEquals(List.of(1, 3), result.getErrors().stream().map(BulkItemErrorDTO::getIndex).toList());
+        assertEquals("Product could not be saved. Please try again.", result.getErrors().get(1).getMessage());
+        verify(eventPublisher, times(1)).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.CREATED, List.of(10L, 11L)));
+    }
+
+    @Test
+    void testCreateProducts_TooManyItemsRejected() {
+        List<ProductDTO> dtos = Collections.nCopies(6, new ProductDTO("Laptop", 1L, List.of()));
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> productService.createProducts(dtos));
+
+        assertEquals("At most 5 products can be created at once.", exception.getMessage());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
+    @Test
+    void testCreateProducts_AllInvalidSkipsInsert() {
+        BulkCreateResultDTO result = productService.createProducts(List.of(new ProductDTO("Laptop", null, List.of())));
+
+        assertEquals(0, result.getCreated());
+        assertEquals(1, result.getErrors().size());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
+    @Test
+    void testCreateProducts_EmptyRequest() {
+        assertThrows(IllegalArgumentException.class, () -> productService.createProducts(List.of()));
+    }
+
+    @Test
+    void testCreateProducts_NullItemRejected() {
+        List<ProductDTO> dtos = Arrays.asList(new ProductDTO("Laptop", 1L, List.of()), null);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> productService.createProducts(dtos));
+
+        assertEquals("Product at index 1 is missing.", exception.getMessage());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
     /** TEST CASES FOR `getProductById()` **/
     @Test
     void testGetProductById_Success() {
@@ -138,26 +248,44 @@ public class ProductServiceTest {
         verify(productRepository, times(1)).findById(99L);
     }
 
+    /** TEST CASES FOR `getProductFields()` **/
+
+    @Test
+    void testGetProductFields_Success() {
+        Set<ProductField> fields = ProductField.parse("name,productType");
+        when(productJdbcRepository.findListRowsById(fields, 1L)).thenReturn(Arrays.<Object[]>asList(
+                new Object[]{1L, "Laptop", "Electronics", null}));
+
+        assertEquals(new ProductListDTO(1L, "Laptop", "Electronics", null), productService.getProductFields(1L, fields));
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void testGetProductFields_NotFound() {
+        when(productJdbcRepository.findListRowsById(any(), eq(99L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.getProductFields(99L, ProductField.parse("name")));
+    }
 
     /** TEST CASES FOR `getAllProducts()` **/
 
     @Test
     void testGetAllProducts_Success() {
-        ProductType productType = new ProductType(1L, "Electronics");
-        List<Colour> colours = Arrays.asList(new Colour(1L, "Black"), new Colour(2L, "Blue"));
-
-        Product mockProduct = new Product(1L, "Laptop", productType, colours);
-        when(productRepository.findAllByOrderByIdDesc()).thenReturn(Arrays.asList(mockProduct));
+        when(productRepository.findListRows()).thenReturn(Arrays.asList(
+                new Object[]{2L, "Laptop", "Electronics", "Black"},
+                new Object[]{2L, "Laptop", "Electronics", "Blue"},
+                new Object[]{1L, "Chair", "Furniture", null}));
 
         List<ProductListDTO> result = productService.getAllProducts();
 
-        assertNotNull(result);
-        assertFalse(result.isEmpty());
+        assertEquals(2, result.size());
+        assertEquals(new ProductListDTO(2L, "Laptop", "Electronics", List.of("Black", "Blue")), result.get(0));
+        assertEquals(new ProductListDTO(1L, "Chair", "Furniture", List.of()), result.get(1));
     }
 
     @Test
     void testGetAllProducts_NoProducts() {
-        when(productRepository.findAllByOrderByIdDesc()).thenReturn(Arrays.asList());
+        when(productRepository.findListRows()).thenReturn(Arrays.asList());
 
         List<ProductListDTO> result = productService.getAllProducts();
 
@@ -165,6 +293,107 @@ public class ProductServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testGetAllProducts_WithFields_ReadsOnlyRequestedColumns() {
+        Set<ProductField> fields = ProductField.parse("name");
+        when(productJdbcRepository.findListRows(fields, Long.MAX_VALUE, null)).thenReturn(Arrays.asList(
+                new Object[]{2L, "Laptop", null, null},
+                new Object[]{1L, "Chair", null, null}));
+
+        List<ProductListDTO> result = productService.getAllProducts(fields);
+
+        assertEquals(Set.of(ProductField.ID, ProductField.NAME), fields);
+        assertEquals(List.of(new ProductListDTO(2L, "Laptop", null, null), new ProductListDTO(1L, "Chair", null, null)), result);
+        verify(productRepository, never()).findListRows();
+    }
+
+    @Test
+    void testGetAllProducts_UnknownField() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> ProductField.parse("id,price"));
+
+        assertTrue(exception.getMessage().startsWith("Unknown product field: price"));
+    }
+
+    /** TEST CASES FOR `getProductsPage()` **/
+
+    @Test
+    void testGetProductsPage_WithFields_GroupsColours() {
+        Set<ProductField> fields = ProductField.parse("id,colours");
+        when(productJdbcRepository.findListRows(fields, Long.MAX_VALUE, 2)).thenReturn(Arrays.asList(
+                new Object[]{2L, null, null, "Black"},
+                new Object[]{2L, null, null, "White"}));
+
+        ProductPageDTO page = productService.getProductsPage(null, 1, fields);
+
+        assertEquals(List.of(new ProductListDTO(2L, null, null, List.of("Black", "White"))), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetProductsPage_FirstPageHasCursor() {
+        when(productRepository.findListRowsBefore(Long.MAX_VALUE, 3)).thenReturn(Arrays.asList(
+                new Object[]{3L, "Phone", "Electronics", "Black"},
+                new Object[]{2L, "Laptop", "Electronics", "Black"},
+                new Object[]{2L, "Laptop", "Electronics", "White"},
+                new Object[]{1L, "Tablet", "Electronics", "Blue"}));
+
+        ProductPageDTO page = productService.getProductsPage(null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(List.of("Black", "White"), page.getItems().get(1).getColours());
+        assertNotNull(page.getNextCursor());
+
+        when(productRepository.findListRowsBefore(2L, 3)).thenReturn(Arrays.<Object[]>asList(
+                new Object[]{1L, "Tablet", "Electronics", "Blue"}));
+
+        ProductPageDTO next = productService.getProductsPage(page.getNextCursor(), 2);
+
+        assertEquals(1, next.getItems().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testGetProductsPage_InvalidCursor() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            productService.getProductsPage("not-a-cursor", 10);
+        });
+
+        assertEquals("Invalid cursor.", exception.getMessage());
+    }
+
+    @Test
+    void testGetProductsPage_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> productService.getProductsPage(null, ProductService.MAX_PAGE_SIZE + 1));
+    }
+
+    /** TEST CASES FOR `searchProducts()` **/
+
+    @Test
+    void testSearchProducts_SubstringMatch() {
+        when(productRepository.searchListRows("lap_", "%lap\\_%", "lap\\_%", 10)).thenReturn(Arrays.<Object[]>asList(
+                new Object[]{1L, "Lap_top", "Electronics", "Black"}));
+
+        List<ProductListDTO> result = productService.searchProducts("  LAP_ ", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Lap_top", result.get(0).getName());
+    }
+
+    @Test
+    void testSearchProducts_ShortQueryUsesPrefixMatch() {
+        when(productRepository.searchListRowsByPrefix("la%", 20)).thenReturn(List.of());
+
+        assertTrue(productService.searchProducts("La", 20).isEmpty());
+        verify(productRepository, never()).searchListRows(anyString(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    void testSearchProducts_EmptyQuery() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> productService.searchProducts(" ", 20));
+        assertEquals("Search query cannot be empty.", exception.getMessage());
+    }
+
     /**  TEST CASES FOR `deleteProduct()` **/
 
     @Test
@@ -174,6 +403,7 @@ public class ProductServiceTest {
 
         assertDoesNotThrow(() -> productService.deleteProduct(1L));
         verify(productRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.DELETED, 1L));
     }
 
     @Test
@@ -197,8 +427,8 @@ public class ProductServiceTest {
         List<Colour> colours = Arrays.asList(new Colour(1L, "Black"), new Colour(2L, "Blue"));
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
-        when(productTypeRepository.findById(1L)).thenReturn(Optional.of(productType));
-        when(colourRepository.findAllById(dto.getColourIds())).thenReturn(colours);
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findColours(dto.getColourIds())).thenReturn(colours);
         when(productRepository.save(any(Product.class))).thenReturn(existingProduct);
 
         Product result = productService.updateProduct(1L, dto);
@@ -228,7 +458,7 @@ public class ProductServiceTest {
         Product existingProduct = new Product(1L, "Laptop", null, null);
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
-        when(productTypeRepository.findById(99L)).thenReturn(Optional.empty());
+        when(referenceDataCache.findProductType(99L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
             productService.updateProduct(1L, dto);
@@ -237,4 +467,106 @@ public class ProductServiceTest {
         assertEquals("Product Type not found", exception.getMessage());
     }
 
+    @Test
+    void testUpdateProduct_Unchanged_SkipsWrite() {
+        ProductType productType = new ProductType(1L, "Electronics");
+        List<Colour> colours = Arrays.asList(new Colour(1L, "Black"), new Colour(2L, "Blue"));
+        Product existingProduct = new Product(1L, "Laptop", productType, new LinkedHashSet<>(colours));
+        ProductDTO dto = new ProductDTO("Laptop", 1L, Arrays.asList(2L, 1L));
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findColours(dto.getColourIds())).thenReturn(Arrays.asList(colours.get(1), colours.get(0)));
+
+        Product result = productService.updateProduct(1L, dto);
+
+        assertSame(existingProduct, result);
+        verify(productRepository, never()).save(any(Product.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testUpdateProduct_ColoursDiffedInPlace() {
+        ProductType productType = new ProductType(1L, "Electronics");
+        Colour black = new Colour(1L, "Black");
+        Colour blue = new Colour(2L, "Blue");
+        Colour red = new Colour(3L, "Red");
+        Set<Colour> assignedColours = new LinkedHashSet<>(Arrays.asList(black, blue));
+        Product existingProduct = new Product(1L, "Laptop", productType, assignedColours);
+        ProductDTO dto = new ProductDTO("Laptop", 1L, Arrays.asList(2L, 3L));
+
+        when(productRepository.findById(1L)).thenReturn(Optional.of(existingProduct));
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(productType));
+        when(referenceDataCache.findColours(dto.getColourIds())).thenReturn(Arrays.asList(blue, red));
+        when(productRepository.save(any(Product.class))).thenReturn(existingProduct);
+
+        Product result = productService.updateProduct(1L, dto);
+
+        assertSame(assignedColours, result.getColours());
+        assertEquals(Set.of(blue, red), result.getColours());
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, 1L));
+    }
+
+    /** TEST CASES FOR `attachColour()` AND `detachColour()` **/
+
+    @Test
+    void testAttachColour_Success() {
+        when(referenceDataCache.findColours(List.of(3L))).thenReturn(List.of(new Colour(3L, "Red")));
+        when(productJdbcRepository.attachColour(1L, 3L)).thenReturn(1);
+
+        productService.attachColour(1L, 3L);
+
+        verify(productRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, 1L));
+    }
+
+    @Test
+    void testAttachColour_AlreadyAttached_NoEvent() {
+        when(referenceDataCache.findColours(List.of(3L))).thenReturn(List.of(new Colour(3L, "Red")));
+        when(productJdbcRepository.attachColour(1L, 3L)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        assertDoesNotThrow(() -> productService.attachColour(1L, 3L));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testAttachColour_ColourNotFound() {
+        when(referenceDataCache.findColours(List.of(99L))).thenReturn(List.of());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> productService.attachColour(1L, 99L));
+
+        assertEquals("Colour not found with ID: 99", exception.getMessage());
+        verifyNoInteractions(productJdbcRepository);
+    }
+
+    @Test
+    void testDetachColour_ProductNotFound() {
+        when(productJdbcRepository.detachColour(99L, 3L)).thenReturn(0);
+        when(productRepository.existsById(99L)).thenReturn(false);
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> productService.detachColour(99L, 3L));
+
+        assertEquals("Product not found with ID: 99", exception.getMessage());
+    }
+
+    @Test
+    void testAttachColour_Batch_Success() {
+        List<Long> productIds = List.of(1L, 2L, 3L);
+        when(referenceDataCache.findColours(List.of(5L))).thenReturn(List.of(new Colour(5L, "Navy")));
+        when(productJdbcRepository.attachColour(productIds, 5L)).thenReturn(2);
+
+        ColourAssignmentResultDTO result = productService.attachColour(productIds, 5L);
+
+        assertEquals(3, result.getRequested());
+        assertEquals(2, result.getAffected());
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT, ChangeType.UPDATED, productIds));
+    }
+
+    @Test
+    void testDetachColour_Batch_Empty() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> productService.detachColour(List.of(), 5L));
+
+        assertEquals("Please provide at least one product ID.", exception.getMessage());
+    }
 }
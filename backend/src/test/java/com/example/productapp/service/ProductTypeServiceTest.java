@@ -1,14 +1,22 @@
 package com.example.productapp.service;
 
+import com.example.productapp.cache.ReferenceDataCache;
+import com.example.productapp.dto.UsageDTO;
+import com.example.productapp.event.CatalogChangeEvent;
+import com.example.productapp.event.CatalogEntity;
+import com.example.productapp.event.ChangeType;
 import com.example.productapp.exception.CustomException;
 import com.example.productapp.exception.ResourceNotFoundException;
+import com.example.productapp.index.ProductFacetIndex;
 import com.example.productapp.model.ProductType;
+import com.example.productapp.repository.ProductJdbcRepository;
 import com.example.productapp.repository.ProductTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Arrays;
@@ -23,6 +31,18 @@ class ProductTypeServiceTest {
     @Mock
     private ProductTypeRepository productTypeRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductFacetIndex productFacetIndex;
+
+    @Mock
+    private ProductJdbcRepository productJdbcRepository;
+
     @InjectMocks
     private ProductTypeService productTypeService;
 
@@ -35,7 +55,7 @@ class ProductTypeServiceTest {
     @Test
     void testGetAllProductTypes_Success() {
         List<ProductType> productTypes = Arrays.asList(new ProductType(1L, "Electronics"), new ProductType(2L, "Clothing"));
-        when(productTypeRepository.findAll()).thenReturn(productTypes);
+        when(referenceDataCache.getAllProductTypes()).thenReturn(productTypes);
 
         List<ProductType> result = productTypeService.getAllProductTypes();
 
@@ -55,6 +75,7 @@ class ProductTypeServiceTest {
         assertNotNull(result);
         assertEquals("Electronics", result.getName());
         verify(productTypeRepository, times(1)).save(any(ProductType.class));
+        verify(referenceDataCache, times(1)).invalidateProductTypes();
     }
 
     @Test
@@ -78,6 +99,7 @@ class ProductTypeServiceTest {
         doNothing().when(productTypeRepository).deleteById(1L);
 
         assertDoesNotThrow(() -> productTypeService.deleteProductType(1L));
+        verify(eventPublisher).publishEvent(CatalogChangeEvent.of(CatalogEntity.PRODUCT_TYPE, ChangeType.DELETED, 1L));
     }
 
     @Test
@@ -88,6 +110,40 @@ class ProductTypeServiceTest {
         assertEquals("Product Type not found with ID: 99", exception.getMessage());
     }
 
+    @Test
+    void testDeleteProductType_InUse_RejectedFromUsageCount() {
+        when(productTypeRepository.existsById(1L)).thenReturn(true);
+        when(productFacetIndex.countByProductType(1L)).thenReturn(5L);
+        when(productJdbcRepository.countByProductType(1L)).thenReturn(5L);
+
+        Exception exception = assertThrows(CustomException.class, () -> productTypeService.deleteProductType(1L));
+
+        assertEquals("Cannot delete product type. It is being used in 5 products.", exception.getMessage());
+        verify(productTypeRepository, never()).deleteById(anyLong());
+    }
+
+    @Test
+    void testDeleteProductType_StaleUsageCount_ConfirmedBeforeRejecting() {
+        when(productTypeRepository.existsById(1L)).thenReturn(true);
+        when(productFacetIndex.countByProductType(1L)).thenReturn(1L);
+        when(productJdbcRepository.countByProductType(1L)).thenReturn(0L);
+
+        assertDoesNotThrow(() -> productTypeService.deleteProductType(1L));
+        verify(productTypeRepository).deleteById(1L);
+    }
+
+    /** TEST CASES FOR `getProductTypeUsage()` **/
+
+    @Test
+    void testGetProductTypeUsage_Success() {
+        when(referenceDataCache.findProductType(1L)).thenReturn(Optional.of(new ProductType(1L, "Electronics")));
+        when(productFacetIndex.countByProductType(1L)).thenReturn(4L);
+
+        UsageDTO usage = productTypeService.getProductTypeUsage(1L);
+
+        assertEquals(4L, usage.getProductCount());
+    }
+
     @Test
     void testDeleteProductType_ConstraintViolation() {
         when(productTypeRepository.existsById(1L)).thenReturn(true);
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from "react";
 import axios from "../services/api";
+import { subscribeToChanges } from "../services/changes";
 import "../styles/styles.css";
 
 function ProductList() {
@@ -18,6 +19,23 @@ function ProductList() {
         fetchColours();
     }, []);
 
+    // Keeps the lists current with edits made here and in other tabs, instead of re-fetching after each edit
+    useEffect(() => {
+        return subscribeToChanges(
+            (change) => {
+                if (change.entity === "COLOUR") fetchColours();
+                if (change.entity === "PRODUCT_TYPE") fetchProductTypes();
+                // Products show colour and type names, so every change can affect them
+                fetchProducts();
+            },
+            () => {
+                fetchProducts();
+                fetchProductTypes();
+                fetchColours();
+            }
+        );
+    }, []);
+
     const fetchProducts = async () => {
         try {
             const response = await axios.get("/products");
@@ -98,7 +116,6 @@ function ProductList() {
             };
 
             await axios.put(`/products/${id}`, updatedProduct);
-            fetchProducts();
             setEditingId(null);
             setMessage("✅ Product updated successfully!");
             setTimeout(() => setMessage(""), 3000);
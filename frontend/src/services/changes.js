@@ -0,0 +1,16 @@
+import { API_BASE_URL } from './api';
+
+/**
+ * Subscribes to the backend's catalog change stream.
+ * The browser reconnects by itself and resumes from the last event it received.
+ *
+ * @param onChange Called with each change ({ version, entity, type, ids }).
+ * @param onReset Called when changes were missed and everything should be reloaded.
+ * @returns Function that closes the stream.
+ */
+export function subscribeToChanges(onChange, onReset) {
+  const source = new EventSource(`${API_BASE_URL}/changes/stream`);
+  source.onmessage = (event) => onChange(JSON.parse(event.data));
+  source.addEventListener('reset', () => onReset());
+  return () => source.close();
+}